@@ -5,6 +5,8 @@ plugins {
     // https://github.com/diffplug/spotless
     // https://plugins.gradle.org/plugin/com.diffplug.gradle.spotless
     id("com.diffplug.spotless") version ("6.11.0")
+    // https://github.com/melix/jmh-gradle-plugin
+    id("me.champeau.jmh") version ("0.7.2")
 }
 
 group = "org.example"
@@ -45,6 +47,28 @@ dependencies {
 //    }
 // }
 
+// SIMD kernels of neural.network.linearalgebra.VectorKernels, see Kernels for the fallback
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(vectorModule)
+}
+
 tasks.getByName<Test>("test") {
     useJUnitPlatform()
+    jvmArgs(vectorModule)
+}
+
+// benchmarks of src/jmh/java, run with ./gradlew jmh [-PjmhIncludes=Matrix]
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(5)
+    iterations.set(5)
+    profilers.add("gc")
+    jvmArgsAppend.addAll(vectorModule)
+    resultFormat.set("JSON")
+    // the benchmarks share the synthetic data sets of the tests
+    includeTests.set(true)
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
 }
@@ -0,0 +1,125 @@
+package neural.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import neural.network.data.Dataset;
+import neural.network.data.EpochSampler;
+import neural.network.data.SyntheticDigits;
+import neural.network.linearalgebra.DenseMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the convergence of the 784-88-29-10 network of {@link Main} with the single
+ * threaded loop and with the {@link HogwildTrainer}. Both train a new network on the same
+ * {@link SyntheticDigits} and test it after every {@value #CHUNK} images, every invocation takes
+ * the time until the network classifies {@value #TARGET} of the test set correctly. The time
+ * includes the tests, which cost the same in both modes, and the returned amount of trained
+ * images shows how much Hogwild! loses per image to the overwritten corrections.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HogwildBenchmark {
+
+  private static final int TRAIN_IMAGES = 5_000;
+  private static final int TEST_IMAGES = 500;
+  private static final int CHUNK = 250;
+  // gives up after this many images instead of running forever
+  private static final long MAX_IMAGES = 100L * TRAIN_IMAGES;
+  private static final double TARGET = .95;
+  private static final double LR = .1;
+
+  @Param({ "2", "4" })
+  public int threads;
+
+  private Dataset train;
+  private Dataset test;
+
+  @Setup
+  public void setUp() {
+
+    // noisy enough to take a few thousand images
+    var digits = new SyntheticDigits(10, NeuralNet.IMAGE_SIZE, 1, new Random(42));
+    train = digits.dataset(TRAIN_IMAGES);
+    test = digits.dataset(TEST_IMAGES);
+  }
+
+  /**
+   * Trains on the calling thread until the target accuracy is reached.
+   *
+   * @return the amount of trained images
+   */
+  @Benchmark
+  public long single() {
+
+    var net = newNet();
+    var sampler = new EpochSampler(train.size(), 7);
+    double[] image = new double[NeuralNet.IMAGE_SIZE];
+    long images = 0;
+    while (!converged(net, images)) {
+      for (int i = 0; i < CHUNK; i++) {
+        int r = sampler.getAsInt();
+        train.image(r, image, 0);
+        net.processAndCorrect(LR, image, train.lable(r));
+      }
+      images += CHUNK;
+    }
+    return images;
+  }
+
+  /**
+   * Trains with the threads of a {@link HogwildTrainer} until the target accuracy is reached.
+   *
+   * @return the amount of trained images
+   */
+  @Benchmark
+  public long hogwild() {
+
+    var net = newNet();
+    var trainer = new HogwildTrainer(net, threads);
+    long images = 0;
+    while (!converged(net, images)) {
+      trainer.train(train, CHUNK, LR, images, null);
+      images += CHUNK;
+    }
+    return images;
+  }
+
+  private NeuralNet newNet() {
+
+    // centred weights, the sums of 784 inputs would saturate with the positive ones of the builder
+    var init = new Random(7);
+    int[] sizes = { NeuralNet.IMAGE_SIZE, 88, 29, 10 };
+    List<DenseMatrix> weights = new ArrayList<>();
+    for (int l = 1; l < sizes.length; l++) {
+      var matrix = new DenseMatrix(sizes[l], sizes[l - 1]);
+      double[] data = matrix.data();
+      for (int i = 0; i < data.length; i++) {
+        data[i] = init.nextDouble() * .1 - .05;
+      }
+      weights.add(matrix);
+    }
+    return new NeuralNet(weights);
+  }
+
+  private boolean converged(NeuralNet net, long images) {
+
+    if (images > MAX_IMAGES) {
+      throw new IllegalStateException("No accuracy of " + TARGET + " after " + images);
+    }
+    return net.freeze().evaluate(test).accuracy() >= TARGET;
+  }
+
+}
@@ -0,0 +1,117 @@
+package neural.network;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import neural.network.activation.Sigmoid;
+import neural.network.linearalgebra.DenseMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the training steps and the inference of the 784-88-29-10 network of
+ * {@link Main} on random images. The training steps change the weights of the network, which
+ * only changes the values but not the work of the following steps.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NeuralNetBenchmark {
+
+  private static final int BATCH_SIZE = 32;
+  private static final double LR = .01;
+
+  @Param({ "EXACT", "FAST" })
+  public Sigmoid sigmoid;
+
+  private NeuralNet net;
+  private FloatNeuralNet floatNet;
+  private InferenceModel frozen;
+  private QuantizedModel quantized;
+  private double[] image;
+  private float[] floatImage;
+  private byte[] pixels;
+  private DenseMatrix batch;
+  private short[] lables;
+  private short lable;
+
+  @Setup
+  public void setUp() {
+
+    var rand = new Random(42);
+    net = NeuralNet.builder(NeuralNet.IMAGE_SIZE).layer(88).layer(29).layer(10)
+                   .random(rand).sigmoid(sigmoid).build();
+    floatNet = FloatNeuralNet.of(net.weights(), sigmoid);
+    frozen = net.freeze();
+    quantized = net.quantize();
+    pixels = new byte[NeuralNet.IMAGE_SIZE];
+    rand.nextBytes(pixels);
+    image = new double[NeuralNet.IMAGE_SIZE];
+    floatImage = new float[NeuralNet.IMAGE_SIZE];
+    for (int i = 0; i < image.length; i++) {
+      image[i] = (pixels[i] & 0xff) / 255.;
+      floatImage[i] = (float) image[i];
+    }
+    batch = new DenseMatrix(BATCH_SIZE, NeuralNet.IMAGE_SIZE);
+    lables = new short[BATCH_SIZE];
+    for (int b = 0; b < BATCH_SIZE; b++) {
+      System.arraycopy(image, 0, batch.data(), batch.index(b, 0), image.length);
+      lables[b] = (short) rand.nextInt(10);
+    }
+    lable = 7;
+  }
+
+  /**
+   * One training step on a single image.
+   */
+  @Benchmark
+  public NeuralNet processAndCorrect() {
+
+    net.processAndCorrect(LR, image, lable);
+    return net;
+  }
+
+  /**
+   * One training step on a mini-batch of {@value #BATCH_SIZE} images.
+   */
+  @Benchmark
+  public NeuralNet processAndCorrectBatch() {
+
+    net.processAndCorrect(LR, batch, lables);
+    return net;
+  }
+
+  @Benchmark
+  public FloatNeuralNet processAndCorrectFloat() {
+
+    floatNet.processAndCorrect((float) LR, floatImage, lable);
+    return floatNet;
+  }
+
+  @Benchmark
+  public double[] assess() {
+
+    return net.assess(image);
+  }
+
+  @Benchmark
+  public int classifyFrozen() {
+
+    return frozen.classify(image);
+  }
+
+  @Benchmark
+  public int classifyQuantized() {
+
+    return quantized.classify(pixels);
+  }
+
+}
@@ -0,0 +1,66 @@
+package neural.network.activation;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of both evaluations of the {@link Sigmoid} on arrays of the sizes of the layers.
+ * The function is applied in place, so every call first copies the weighted sums into the
+ * array, the copy is part of the measured time.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SigmoidBenchmark {
+
+  @Param({ "EXACT", "FAST" })
+  public Sigmoid sigmoid;
+
+  @Param({ "10", "88", "784" })
+  public int size;
+
+  private double[] sums;
+  private double[] arr;
+  private float[] floatSums;
+  private float[] floatArr;
+
+  @Setup
+  public void setUp() {
+
+    var rand = new Random(42);
+    sums = new double[size];
+    floatSums = new float[size];
+    for (int i = 0; i < size; i++) {
+      sums[i] = rand.nextGaussian() * 4;
+      floatSums[i] = (float) sums[i];
+    }
+    arr = new double[size];
+    floatArr = new float[size];
+  }
+
+  @Benchmark
+  public double[] apply() {
+
+    System.arraycopy(sums, 0, arr, 0, size);
+    return sigmoid.apply(arr);
+  }
+
+  @Benchmark
+  public float[] applyFloat() {
+
+    System.arraycopy(floatSums, 0, floatArr, 0, size);
+    return sigmoid.apply(floatArr);
+  }
+
+}
@@ -0,0 +1,122 @@
+package neural.network.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import neural.network.linearalgebra.DenseMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks of the loading of training images from memory mapped IDX files. The files of
+ * {@value #IMAGES} random 28x28 images are written into a temporary directory, which the page
+ * cache holds after the first pass, so the benchmarks measure the decoding and not the disk.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DatasetBenchmark {
+
+  private static final int IMAGES = 10_000;
+  private static final int SIDE = 28;
+  private static final int BATCH_SIZE = 32;
+
+  private Path dir;
+  private IdxDataset set;
+  private EpochSampler sampler;
+  private BatchPipeline pipeline;
+  private double[] image;
+  private float[] floatImage;
+  private byte[] pixels;
+
+  @Setup
+  public void setUp() throws IOException {
+
+    var rand = new Random(42);
+    dir = Files.createTempDirectory("idx");
+    byte[] data = new byte[IMAGES * SIDE * SIDE];
+    rand.nextBytes(data);
+    byte[] lables = new byte[IMAGES];
+    for (int i = 0; i < IMAGES; i++) {
+      lables[i] = (byte) rand.nextInt(10);
+    }
+    set = IdxDataset.open(write(dir.resolve("images"), data, IMAGES, SIDE, SIDE),
+                          write(dir.resolve("lables"), lables, IMAGES));
+    sampler = new EpochSampler(IMAGES, 42);
+    pipeline = new BatchPipeline(set, BATCH_SIZE, 3, new EpochSampler(IMAGES, 42));
+    image = new double[set.imageSize()];
+    floatImage = new float[set.imageSize()];
+    pixels = new byte[set.imageSize()];
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+
+    pipeline.close();
+    // the mappings stay valid after the files are gone
+    Files.delete(dir.resolve("images"));
+    Files.delete(dir.resolve("lables"));
+    Files.delete(dir);
+  }
+
+  /**
+   * Normalises a random image into doubles, the loading of a single image training step.
+   */
+  @Benchmark
+  public double[] image() {
+
+    set.image(sampler.getAsInt(), image, 0);
+    return image;
+  }
+
+  @Benchmark
+  public float[] imageFloat() {
+
+    set.image(sampler.getAsInt(), floatImage, 0);
+    return floatImage;
+  }
+
+  /**
+   * Copies the raw pixels of a random image, the loading of {@code QuantizedModel}.
+   */
+  @Benchmark
+  public byte[] bytes() {
+
+    set.images().bytes(sampler.getAsInt(), pixels, 0);
+    return pixels;
+  }
+
+  /**
+   * Takes the next batch of {@value #BATCH_SIZE} images from the prefetching pipeline. As long as
+   * the decoding thread keeps up this is only the hand over between the threads.
+   */
+  @Benchmark
+  public DenseMatrix batch() {
+
+    return pipeline.next().images();
+  }
+
+  private static Path write(Path path, byte[] data, int... dimensions) throws IOException {
+
+    var buff = ByteBuffer.allocate(4 + 4 * dimensions.length + data.length);
+    buff.put(new byte[] { 0, 0, 0x08, (byte) dimensions.length });
+    for (int dimension : dimensions) {
+      buff.putInt(dimension);
+    }
+    buff.put(data);
+    return Files.write(path, buff.array());
+  }
+
+}
@@ -0,0 +1,63 @@
+package neural.network.linearalgebra;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the matrix products of {@link Gemm}. The shapes are given as M x K x N of
+ * {@code C = A * B}: the forward pass of a batch of 32 images through the first layer, its
+ * gradient, and two square products.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GemmBenchmark {
+
+  @Param({ "32x784x88", "88x32x784", "256x256x256", "512x512x512" })
+  public String shape;
+
+  private DenseMatrix first;
+  private DenseMatrix second;
+  private DenseMatrix dst;
+
+  @Setup
+  public void setUp() {
+
+    String[] size = shape.split("x");
+    int m = Integer.parseInt(size[0]);
+    int k = Integer.parseInt(size[1]);
+    int n = Integer.parseInt(size[2]);
+    var rand = new Random(42);
+    first = MatrixBenchmark.random(m, k, rand);
+    second = MatrixBenchmark.random(k, n, rand);
+    dst = new DenseMatrix(m, n);
+  }
+
+  @Benchmark
+  public DenseMatrix gemm() {
+
+    return Matrix.mult(first, second, dst);
+  }
+
+  /**
+   * The unblocked reference loops, the baseline of the packed kernel.
+   */
+  @Benchmark
+  public DenseMatrix reference() {
+
+    Gemm.reference(false, false, 1, first, second, 0, dst);
+    return dst;
+  }
+
+}
@@ -0,0 +1,89 @@
+package neural.network.linearalgebra;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the scalar and the vector {@link Kernels} side by side. {@link Matrix} uses the
+ * kernels selected at startup, this benchmark calls both implementations directly.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KernelsBenchmark {
+
+  @Param({ "scalar", "vector" })
+  public String kernels;
+
+  @Param({ "29", "88", "784" })
+  public int size;
+
+  private Kernels impl;
+  private double[] a;
+  private double[] b;
+  private float[] fa;
+  private float[] fb;
+  private byte[] ba;
+  private byte[] bb;
+
+  @Setup
+  public void setUp() {
+
+    impl = "vector".equals(kernels) ? Kernels.vector() : Kernels.scalar();
+    var rand = new Random(42);
+    a = new double[size];
+    b = new double[size];
+    fa = new float[size];
+    fb = new float[size];
+    ba = new byte[size];
+    bb = new byte[size];
+    for (int i = 0; i < size; i++) {
+      a[i] = rand.nextDouble() - .5;
+      b[i] = rand.nextDouble() - .5;
+      fa[i] = (float) a[i];
+      fb[i] = (float) b[i];
+    }
+    rand.nextBytes(ba);
+    rand.nextBytes(bb);
+  }
+
+  @Benchmark
+  public double dot() {
+
+    return impl.dot(a, 0, b, 0, size);
+  }
+
+  @Benchmark
+  public float dotFloat() {
+
+    return impl.dot(fa, 0, fb, 0, size);
+  }
+
+  @Benchmark
+  public int dotUnsigned() {
+
+    return impl.dotUnsigned(ba, 0, bb, 0, size);
+  }
+
+  /**
+   * {@code b += 1e-9 * a}, the values hardly change over a run.
+   */
+  @Benchmark
+  public double[] axpy() {
+
+    impl.axpy(1e-9, a, 0, b, 0, size);
+    return b;
+  }
+
+}
@@ -0,0 +1,120 @@
+package neural.network;
+
+import neural.network.data.Dataset;
+
+/**
+ * The result of classifying every image of a test set, see
+ * {@link InferenceModel#evaluate(neural.network.data.Dataset)}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ *
+ * @param confusion the amount of images per lable and prediction,
+ *                  {@code confusion[lable][predicted]}
+ * @param nanos     the time of the evaluation
+ */
+public record Evaluation(int[][] confusion, long nanos) {
+
+  /**
+   * Counts the predictions of every image of a test set per lable.
+   *
+   * @param set       the test set
+   * @param predicted the predicted lable per image of the set
+   * @param outputs   the amount of output nodes
+   * @param start     the {@link System#nanoTime()} at the start of the evaluation
+   * @return the evaluation
+   * @throws IllegalArgumentException if a lable has no output node
+   */
+  static Evaluation of(Dataset set, int[] predicted, int outputs, long start) {
+
+    int[][] confusion = new int[outputs][outputs];
+    for (int i = 0; i < predicted.length; i++) {
+      int lable = set.lable(i);
+      if (lable < 0 || lable >= outputs) {
+        throw new IllegalArgumentException(
+            String.format("Lable %s of image %s has no output node", lable, i));
+      }
+      confusion[lable][predicted[i]]++;
+    }
+    return new Evaluation(confusion, System.nanoTime() - start);
+  }
+
+  /**
+   * The amount of evaluated images.
+   *
+   * @return the sum of the confusion matrix
+   */
+  public int images() {
+
+    int images = 0;
+    for (int[] row : confusion) {
+      for (int count : row) {
+        images += count;
+      }
+    }
+    return images;
+  }
+
+  /**
+   * The amount of correctly classified images.
+   *
+   * @return the trace of the confusion matrix
+   */
+  public int correct() {
+
+    int correct = 0;
+    for (int i = 0; i < confusion.length; i++) {
+      correct += confusion[i][i];
+    }
+    return correct;
+  }
+
+  /**
+   * The share of correctly classified images.
+   *
+   * @return the accuracy between 0 and 1, NaN if no image was evaluated
+   */
+  public double accuracy() {
+
+    int images = images();
+    return images == 0 ? Double.NaN : correct() / (double) images;
+  }
+
+  /**
+   * The throughput of the evaluation.
+   *
+   * @return the images classified per second
+   */
+  public double imagesPerSecond() {
+
+    return images() / (Math.max(1, nanos) / 1e9);
+  }
+
+  /**
+   * The accuracy, the throughput and the confusion matrix with one row per lable and one column
+   * per prediction.
+   *
+   * @return the formatted result
+   */
+  @Override
+  public String toString() {
+
+    var sb = new StringBuilder(
+        String.format("accuracy %.2f%% (%s/%s), %,.0f images/s, %.1f ms%n", accuracy() * 100,
+                      correct(), images(), imagesPerSecond(), nanos / 1e6));
+    sb.append("lable\\predicted");
+    for (int i = 0; i < confusion.length; i++) {
+      sb.append(String.format("%6s", i));
+    }
+    sb.append(System.lineSeparator());
+    for (int i = 0; i < confusion.length; i++) {
+      sb.append(String.format("%15s", i));
+      for (int count : confusion[i]) {
+        sb.append(String.format("%6s", count));
+      }
+      sb.append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+}
@@ -0,0 +1,353 @@
+package neural.network;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import neural.network.activation.Sigmoid;
+import neural.network.data.Dataset;
+import neural.network.data.EpochSampler;
+import neural.network.io.Checkpointer;
+import neural.network.io.ModelFile;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+import neural.network.linearalgebra.FloatMatrix;
+import neural.network.linearalgebra.Matrix;
+import neural.network.metrics.TrainingMetrics;
+
+/**
+ * Single precision counterpart of {@link NeuralNet}. Weights, activations and errors are floats,
+ * so a pass over the weights streams half the bytes of the double network and the SIMD kernels
+ * process twice the values per instruction. The network trains one image at a time like
+ * {@link NeuralNet#processAndCorrect(double, double[], short)} and is saved as a model file of
+ * the type {@link ModelFile.DataType#FLOAT32}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class FloatNeuralNet {
+
+  // images per task of evaluate
+  private static final int CHUNK = 256;
+
+  private final FloatMatrix[] weights;
+  private final Sigmoid sigmoid;
+  // buffers reused by every training step
+  private final float[][] out;
+  private final float[][] err;
+  private final float[] target;
+  private float[] image;
+
+  /**
+   * Creates a network of any depth with the given weights, which are used without copying them.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   */
+  public FloatNeuralNet(List<FloatMatrix> weights) {
+
+    this(weights, Sigmoid.EXACT);
+  }
+
+  /**
+   * Creates a network of any depth with the given weights and evaluation of the activation
+   * function, see {@link NeuralNet#NeuralNet(List, Sigmoid)}.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   * @param sigmoid the evaluation of the activation function of every layer
+   */
+  public FloatNeuralNet(List<FloatMatrix> weights, Sigmoid sigmoid) {
+
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("A network needs at least one layer");
+    }
+    this.weights = new FloatMatrix[weights.size()];
+    this.out = new float[weights.size()][];
+    this.err = new float[weights.size()][];
+    for (int l = 0; l < this.weights.length; l++) {
+      var matrix = weights.get(l);
+      if (l > 0 && matrix.cols() != this.weights[l - 1].rows()) {
+        throw new IllegalArgumentException(
+            String.format("Layer %s expects %s inputs but layer %s has %s outputs", l,
+                          matrix.cols(), l - 1, this.weights[l - 1].rows()));
+      }
+      this.weights[l] = matrix;
+      out[l] = new float[matrix.rows()];
+      err[l] = new float[matrix.rows()];
+    }
+    this.sigmoid = sigmoid;
+    this.target = new float[outputSize()];
+  }
+
+  /**
+   * Creates a network with the given double weights rounded to floats.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   * @param sigmoid the evaluation of the activation function of every layer
+   * @return the network
+   */
+  public static FloatNeuralNet of(List<DenseMatrix> weights, Sigmoid sigmoid) {
+
+    return new FloatNeuralNet(weights.stream().map(FloatMatrix::of).toList(), sigmoid);
+  }
+
+  public int inputSize() {
+
+    return weights[0].cols();
+  }
+
+  public int outputSize() {
+
+    return weights[weights.length - 1].rows();
+  }
+
+  /**
+   * The weights of all layers, from the first hidden layer to the output layer.
+   *
+   * @return the weights, backed by the network
+   */
+  public List<FloatMatrix> weights() {
+
+    return List.of(weights);
+  }
+
+  /**
+   * The weights of all layers widened to doubles, e.g. to continue with a {@link NeuralNet}.
+   *
+   * @return copies of the weights
+   */
+  public List<DenseMatrix> denseWeights() {
+
+    List<DenseMatrix> dense = new ArrayList<>(weights.length);
+    for (FloatMatrix matrix : weights) {
+      dense.add(matrix.toDense());
+    }
+    return dense;
+  }
+
+  /**
+   * Trains the network on the MNIST training set, see
+   * {@link #train(Dataset, int, float, long, long, Checkpointer)}.
+   *
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   */
+  public void train(int generations, float lr, long seed, long fromStep,
+                    Checkpointer checkpointer) {
+
+    try (var console = TrainingMetrics.console()) {
+      train(generations, lr, seed, fromStep, checkpointer, console);
+    }
+  }
+
+  /**
+   * Trains the network on the MNIST training set, see
+   * {@link #train(Dataset, int, float, long, long, Checkpointer, TrainingMetrics)}.
+   *
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   * @param metrics      records the progress of the training, may be null
+   */
+  public void train(int generations, float lr, long seed, long fromStep,
+                    Checkpointer checkpointer, TrainingMetrics metrics) {
+
+    try {
+      train(NeuralNet.readTrainingSet(), generations, lr, seed, fromStep, checkpointer, metrics);
+    } catch (UncheckedIOException e) {
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Trains the network one image at a time, visiting the images in the order of an
+   * {@link EpochSampler}. A run continued with the seed and step of a
+   * {@link Checkpointer.Checkpoint} and its weights trains on the same images as the uninterrupted
+   * run would have. The progress is shown on the console, see {@link TrainingMetrics#console()}.
+   *
+   * @param set          the training set
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   */
+  public void train(Dataset set, int generations, float lr, long seed, long fromStep,
+                    Checkpointer checkpointer) {
+
+    try (var console = TrainingMetrics.console()) {
+      train(set, generations, lr, seed, fromStep, checkpointer, console);
+    }
+  }
+
+  /**
+   * Trains the network one image at a time, see
+   * {@link #train(Dataset, int, float, long, long, Checkpointer)}. The metrics are started and
+   * finished but not closed by the training.
+   *
+   * @param set          the training set
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   * @param metrics      records the progress of the training, may be null
+   */
+  public void train(Dataset set, int generations, float lr, long seed, long fromStep,
+                    Checkpointer checkpointer, TrainingMetrics metrics) {
+
+    if (set.imageSize() != inputSize()) {
+      throw new IllegalArgumentException(
+          String.format("Images of %s pixels do not fit %s inputs", set.imageSize(),
+                        inputSize()));
+    }
+    if (image == null) {
+      image = new float[inputSize()];
+    }
+    long steps = (long) set.size() * generations;
+    var sampler = new EpochSampler(set.size(), seed);
+    sampler.seek(fromStep);
+    var list = weights();
+    if (metrics != null) {
+      metrics.start(weights.length, steps, fromStep);
+    }
+    for (long step = fromStep; step < steps; step++) {
+      int index = sampler.getAsInt();
+      set.image(index, image, 0);
+      processAndCorrect(lr, image, set.lable(index), metrics);
+      if (metrics != null) {
+        metrics.step(1);
+      }
+      if (checkpointer != null) {
+        checkpointer.stepFloat(step + 1, seed, list);
+      }
+    }
+    if (checkpointer != null) {
+      checkpointer.saveFloat(steps, seed, list);
+    }
+    if (metrics != null) {
+      metrics.finish();
+    }
+  }
+
+  /**
+   * Assess image data and return the array of possibilities, see
+   * {@link NeuralNet#assess(double[])}.
+   *
+   * @param input the image data
+   * @return the array of output nodes
+   */
+  public float[] assess(float[] input) {
+
+    float[] in = input;
+    for (FloatMatrix matrix : weights) {
+      in = sigmoid.apply(Matrix.mult(matrix, in, new float[matrix.rows()]));
+    }
+    return in;
+  }
+
+  /**
+   * Assess image data and returns the index of the most likely output node.
+   *
+   * @param input the image data
+   * @return the predicted lable
+   */
+  public int classify(float[] input) {
+
+    float[] result = assess(input);
+    int best = 0;
+    for (int i = 1; i < result.length; i++) {
+      best = result[i] > result[best] ? i : best;
+    }
+    return best;
+  }
+
+  /**
+   * Classifies every image of a test set with the float weights and counts the predictions per
+   * lable, see {@link InferenceModel#evaluate(Dataset)}. The set is split into chunks which are
+   * spread over the threads of the {@link ExecutionPolicy}, every chunk classifies its images one
+   * at a time like {@link #classify(float[])}.
+   *
+   * @param set the test set
+   * @return the accuracy, the confusion matrix and the throughput
+   * @throws IllegalArgumentException if the images do not fit the input layer or a lable has no
+   *                                  output node
+   */
+  public Evaluation evaluate(Dataset set) {
+
+    if (set.imageSize() != inputSize()) {
+      throw new IllegalArgumentException(
+          String.format("Images of %s pixels do not fit %s inputs", set.imageSize(),
+                        inputSize()));
+    }
+    long start = System.nanoTime();
+    int size = set.size();
+    long flops = 0;
+    for (FloatMatrix matrix : weights) {
+      flops += (long) matrix.rows() * matrix.cols();
+    }
+    int[] predicted = new int[size];
+    var buffers = ThreadLocal.withInitial(() -> new float[inputSize()]);
+    ExecutionPolicy.get().forEach((size + CHUNK - 1) / CHUNK, flops * size, c -> {
+      float[] pixels = buffers.get();
+      for (int i = c * CHUNK; i < Math.min(size, (c + 1) * CHUNK); i++) {
+        set.image(i, pixels, 0);
+        predicted[i] = classify(pixels);
+      }
+    });
+    return Evaluation.of(set, predicted, outputSize(), start);
+  }
+
+  /**
+   * Processes a single image and corrects the weights in place, see
+   * {@link NeuralNet#processAndCorrect(double, double[], short)}.
+   *
+   * @param learingrate the learning rate at which the network learns
+   * @param input       the image data
+   * @param lbl         the lable of for the current entry
+   */
+  public void processAndCorrect(float learingrate, float[] input, short lbl) {
+
+    processAndCorrect(learingrate, input, lbl, null);
+  }
+
+  private void processAndCorrect(float learingrate, float[] input, short lbl,
+                                 TrainingMetrics metrics) {
+
+    long time = metrics == null ? 0 : System.nanoTime();
+    float[] in = input;
+    for (int l = 0; l < weights.length; l++) {
+      in = sigmoid.apply(Matrix.mult(weights[l], in, out[l]));
+      if (metrics != null) {
+        time = metrics.forward(l, time);
+      }
+    }
+
+    int last = weights.length - 1;
+    Arrays.fill(target, 0);
+    target[lbl] = 1;
+    Matrix.sub(target, out[last], err[last]);
+    if (metrics != null) {
+      metrics.score(err[last], out[last], lbl);
+      time = System.nanoTime();
+    }
+    for (int l = last; l > 0; l--) {
+      Matrix.multTrans(weights[l], err[l], err[l - 1]);
+      if (metrics != null) {
+        time = metrics.backward(l, time);
+      }
+    }
+    for (int l = last; l >= 0; l--) {
+      Matrix.gerSigmoid(learingrate, err[l], out[l], l == 0 ? input : out[l - 1], weights[l]);
+      if (metrics != null) {
+        time = metrics.update(l, time);
+      }
+    }
+  }
+
+}
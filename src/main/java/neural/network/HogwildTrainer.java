@@ -0,0 +1,158 @@
+package neural.network;
+
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import neural.network.data.Dataset;
+import neural.network.data.EpochSampler;
+import neural.network.linearalgebra.ExecutionPolicy;
+import neural.network.metrics.TrainingMetrics;
+
+/**
+ * Asynchronous trainer in the style of Hogwild!. Several threads run the per image training step
+ * of a {@link NeuralNet} at the same time and correct the shared weights in place without any
+ * locking. Every thread has its own activation buffers, only the weights are shared. Concurrent
+ * corrections of the same weight may overwrite each other; with many small corrections this
+ * rarely matters for the convergence of the network.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public class HogwildTrainer {
+
+  // the time between two reports of the progress of the workers to the metrics
+  private static final long POLL_MILLIS = 100;
+
+  private final NeuralNet net;
+  private final int threads;
+
+  /**
+   * Creates a trainer with the given amount of threads.
+   *
+   * @param net     the network to train
+   * @param threads the amount of threads correcting the weights at once
+   */
+  public HogwildTrainer(NeuralNet net, int threads) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("Invalid amount of threads " + threads);
+    }
+    this.net = net;
+    this.threads = threads;
+  }
+
+  /**
+   * Trains the network on the MNIST training set. The progress is shown on the console, see
+   * {@link TrainingMetrics#console()}.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   */
+  public void train(int generations, double lr) {
+
+    try (var console = TrainingMetrics.console()) {
+      train(generations, lr, console);
+    }
+  }
+
+  /**
+   * Trains the network on the MNIST training set, see {@link #train(int, double)}. The images are
+   * trained by the workers, so the metrics record the throughput and the garbage collection but
+   * neither the times of the layers, the loss nor the allocation of the workers.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   * @param metrics     records the progress of the training, may be null
+   */
+  public void train(int generations, double lr, TrainingMetrics metrics) {
+
+    try {
+      var set = NeuralNet.readTrainingSet();
+      train(set, (long) set.size() * generations, lr, new Random().nextLong(), metrics);
+    } catch (UncheckedIOException e) {
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Trains the network with random images of the set, see
+   * {@link #train(Dataset, long, double, long, TrainingMetrics)}.
+   *
+   * @param set    the training set
+   * @param images the total amount of images to train with
+   * @param lr     the learning rate
+   */
+  void train(Dataset set, long images, double lr) {
+
+    train(set, images, lr, new Random().nextLong(), null);
+  }
+
+  /**
+   * Trains the network with the images of the set in a new order every epoch. Every thread takes
+   * its own shard of each epoch, so together the threads see every image once per epoch. The
+   * calling thread reports the progress of the workers to the metrics while they train.
+   *
+   * @param set     the training set
+   * @param images  the total amount of images to train with
+   * @param lr      the learning rate
+   * @param seed    the seed of the order of the images
+   * @param metrics records the progress of the training, may be null
+   */
+  void train(Dataset set, long images, double lr, long seed, TrainingMetrics metrics) {
+
+    if (metrics != null) {
+      metrics.start(net.weights().size(), images, 0);
+    }
+    var trained = new LongAdder();
+    var failure = new AtomicReference<Throwable>();
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      long count = images * (t + 1) / threads - images * t / threads;
+      var sampler = new EpochSampler(set.size(), seed, t, threads);
+      // the workers are the parallelism, their matrix operations run on the worker itself
+      workers[t] = new Thread(
+          () -> ExecutionPolicy.inline(() -> run(set, count, lr, sampler, trained)),
+          "hogwild-" + t);
+      workers[t].setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+      workers[t].start();
+    }
+    long reported = 0;
+    for (Thread worker : workers) {
+      try {
+        while (worker.isAlive()) {
+          worker.join(POLL_MILLIS);
+          if (metrics != null) {
+            long sum = trained.sum();
+            metrics.step(sum - reported);
+            reported = sum;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while training", e);
+      }
+    }
+    if (failure.get() != null) {
+      throw new IllegalStateException("Worker failed", failure.get());
+    }
+    if (metrics != null) {
+      metrics.step(trained.sum() - reported);
+      metrics.finish();
+    }
+  }
+
+  private void run(Dataset set, long count, double lr, EpochSampler sampler, LongAdder trained) {
+
+    var buffers = new NeuralNet.Sample(net);
+    double[] img = new double[set.imageSize()];
+    for (long i = 0; i < count; i++) {
+      int r = sampler.getAsInt();
+      set.image(r, img, 0);
+      net.processAndCorrect(lr, img, set.lable(r), buffers);
+      trained.increment();
+    }
+  }
+
+}
@@ -0,0 +1,337 @@
+package neural.network;
+
+import java.util.List;
+import neural.network.activation.Sigmoid;
+import neural.network.data.Dataset;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+
+/**
+ * Immutable network for inference only. The weights are copied on creation and never change, the
+ * intermediate layers are written into buffers owned by the calling thread. {@link #assess} can
+ * therefore be called from any amount of threads at once without locking, and after the first call
+ * of a thread without allocating.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class InferenceModel {
+
+  /**
+   * Amount of images passed through the network at once by the batch methods.
+   */
+  private static final int CHUNK = 256;
+
+  private final Layer[] layers;
+  private final Sigmoid sigmoid;
+  private final ThreadLocal<Scratch> scratch;
+
+  /**
+   * Creates a model with copies of the given weights.
+   *
+   * @param fstWeights      the weights of the first hidden layer
+   * @param scndWeights     the weights of the second hidden layer
+   * @param fnlLayerWeights the weights of the output layer
+   */
+  public InferenceModel(DenseMatrix fstWeights,
+                        DenseMatrix scndWeights,
+                        DenseMatrix fnlLayerWeights) {
+
+    this(List.of(fstWeights, scndWeights, fnlLayerWeights));
+  }
+
+  /**
+   * Creates a model of any depth with copies of the given weights.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   */
+  public InferenceModel(List<DenseMatrix> weights) {
+
+    this(weights, Sigmoid.EXACT);
+  }
+
+  /**
+   * Creates a model of any depth with copies of the given weights and the given evaluation of the
+   * activation function.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   * @param sigmoid the evaluation of the activation function of every layer
+   */
+  public InferenceModel(List<DenseMatrix> weights, Sigmoid sigmoid) {
+
+    this.layers = new Layer[weights.size()];
+    for (int l = 0; l < layers.length; l++) {
+      layers[l] = new Layer(weights.get(l).copy(), sigmoid);
+    }
+    this.sigmoid = sigmoid;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(this));
+  }
+
+  public int inputSize() {
+
+    return layers[0].inputs();
+  }
+
+  public int outputSize() {
+
+    return layers[layers.length - 1].outputs();
+  }
+
+  /**
+   * Assess image data and writes the possibilities into out.
+   *
+   * @param input the image data
+   * @param out   the array receiving the output nodes
+   * @return out
+   */
+  public double[] assess(double[] input, double[] out) {
+
+    var buffers = scratch.get();
+    double[] in = input;
+    for (int l = 0; l < layers.length - 1; l++) {
+      in = layers[l].forward(in, buffers.hidden[l]);
+    }
+    return layers[layers.length - 1].forward(in, out);
+  }
+
+  /**
+   * Assess image data and return the array of possibilities.
+   *
+   * @param input the image data
+   * @return a new array with the output nodes
+   */
+  public double[] assess(double[] input) {
+
+    return assess(input, new double[outputSize()]);
+  }
+
+  /**
+   * Assess image data and returns the index of the most likely output node.
+   *
+   * @param input the image data
+   * @return the predicted lable
+   */
+  public int classify(double[] input) {
+
+    double[] out = assess(input, scratch.get().out);
+    int best = 0;
+    for (int i = 1; i < out.length; i++) {
+      best = out[i] > out[best] ? i : best;
+    }
+    return best;
+  }
+
+  /**
+   * Assess a batch of images. The images are passed through the network in chunks as matrix
+   * products, so every weight is read once per chunk instead of once per image.
+   *
+   * @param images the images, one per row
+   * @return a matrix with the output nodes of every image in its row
+   */
+  public DenseMatrix assessBatch(DenseMatrix images) {
+
+    var out = new DenseMatrix(images.rows(), outputSize());
+    var buffers = new BatchScratch(this, Math.min(CHUNK, images.rows()));
+    for (int from = 0; from < images.rows(); from += CHUNK) {
+      int n = Math.min(CHUNK, images.rows() - from);
+      var dst = out.view(from, n);
+      forward(images.view(from, n), buffers, dst);
+      sigmoid.apply(out.data(), dst.index(0, 0), dst.index(n - 1, dst.cols()));
+    }
+    return out;
+  }
+
+  /**
+   * Assess a batch of images, see {@link #assessBatch(DenseMatrix)}. The images are copied into
+   * a dense buffer one chunk at a time.
+   *
+   * @param images the images
+   * @return a matrix with the output nodes of every image in its row
+   */
+  public DenseMatrix assessBatch(double[][] images) {
+
+    var out = new DenseMatrix(images.length, outputSize());
+    var buffers = new BatchScratch(this, Math.min(CHUNK, images.length));
+    for (int from = 0; from < images.length; from += CHUNK) {
+      int n = Math.min(CHUNK, images.length - from);
+      var dst = out.view(from, n);
+      forward(buffers.copy(images, from, n), buffers, dst);
+      sigmoid.apply(out.data(), dst.index(0, 0), dst.index(n - 1, dst.cols()));
+    }
+    return out;
+  }
+
+  /**
+   * Predicts the lables of a batch of images. Since the sigmoid function is monotonic, the most
+   * likely output node is taken directly from the weighted sums of the output layer, so no
+   * possibilities are calculated.
+   *
+   * @param images the images, one per row
+   * @return the predicted lable of every image
+   */
+  public int[] classifyBatch(DenseMatrix images) {
+
+    int[] lables = new int[images.rows()];
+    var buffers = new BatchScratch(this, Math.min(CHUNK, images.rows()));
+    for (int from = 0; from < images.rows(); from += CHUNK) {
+      int n = Math.min(CHUNK, images.rows() - from);
+      var logits = buffers.out.view(0, n);
+      forward(images.view(from, n), buffers, logits);
+      argmax(logits, lables, from);
+    }
+    return lables;
+  }
+
+  /**
+   * Predicts the lables of a batch of images, see {@link #classifyBatch(DenseMatrix)}.
+   *
+   * @param images the images
+   * @return the predicted lable of every image
+   */
+  public int[] classifyBatch(double[][] images) {
+
+    int[] lables = new int[images.length];
+    var buffers = new BatchScratch(this, Math.min(CHUNK, images.length));
+    for (int from = 0; from < images.length; from += CHUNK) {
+      int n = Math.min(CHUNK, images.length - from);
+      var logits = buffers.out.view(0, n);
+      forward(buffers.copy(images, from, n), buffers, logits);
+      argmax(logits, lables, from);
+    }
+    return lables;
+  }
+
+  /**
+   * Classifies every image of a test set and counts the predictions per lable. The set is split
+   * into chunks which are decoded and classified like {@link #classifyBatch(DenseMatrix)}, the
+   * chunks are spread over the threads of the {@link ExecutionPolicy}. Every thread reuses its
+   * buffers for all of its chunks.
+   *
+   * @param set the test set
+   * @return the accuracy, the confusion matrix and the throughput
+   * @throws IllegalArgumentException if the images do not fit the input layer or a lable has no
+   *                                  output node
+   */
+  public Evaluation evaluate(Dataset set) {
+
+    if (set.imageSize() != inputSize()) {
+      throw new IllegalArgumentException(
+          String.format("Images of %s pixels do not fit %s inputs", set.imageSize(),
+                        inputSize()));
+    }
+    long start = System.nanoTime();
+    int size = set.size();
+    int chunks = (size + CHUNK - 1) / CHUNK;
+    long flops = 0;
+    for (Layer layer : layers) {
+      flops += (long) layer.inputs() * layer.outputs();
+    }
+    int[] predicted = new int[size];
+    var buffers = ThreadLocal.withInitial(() -> new BatchScratch(this, Math.min(CHUNK, size)));
+    ExecutionPolicy.get().forEach(chunks, flops * size, c -> {
+      int from = c * CHUNK;
+      int n = Math.min(CHUNK, size - from);
+      var chunk = buffers.get();
+      var logits = chunk.out.view(0, n);
+      forward(chunk.load(set, from, n), chunk, logits);
+      argmax(logits, predicted, from);
+    });
+    return Evaluation.of(set, predicted, outputSize(), start);
+  }
+
+  /**
+   * Passes a chunk of images through the network. The weighted sums of the output layer are
+   * written into dst without applying the sigmoid function.
+   */
+  private void forward(DenseMatrix images, BatchScratch buffers, DenseMatrix dst) {
+
+    int n = images.rows();
+    DenseMatrix in = images;
+    for (int l = 0; l < layers.length - 1; l++) {
+      in = layers[l].forward(in, buffers.hidden[l].view(0, n));
+    }
+    layers[layers.length - 1].weightedSums(in, dst);
+  }
+
+  private static void argmax(DenseMatrix logits, int[] lables, int offset) {
+
+    double[] data = logits.data();
+    for (int i = 0; i < logits.rows(); i++) {
+      int row = logits.index(i, 0);
+      int best = 0;
+      for (int k = 1; k < logits.cols(); k++) {
+        best = data[row + k] > data[row + best] ? k : best;
+      }
+      lables[offset + i] = best;
+    }
+  }
+
+  /**
+   * Buffers of a single thread.
+   */
+  private static final class Scratch {
+
+    private final double[][] hidden;
+    private final double[] out;
+
+    private Scratch(InferenceModel model) {
+
+      this.hidden = new double[model.layers.length - 1][];
+      for (int l = 0; l < hidden.length; l++) {
+        hidden[l] = new double[model.layers[l].outputs()];
+      }
+      this.out = new double[model.outputSize()];
+    }
+  }
+
+  /**
+   * Buffers of a single batch call.
+   */
+  private static final class BatchScratch {
+
+    private final int size;
+    private final int inputSize;
+    private final DenseMatrix[] hidden;
+    private final DenseMatrix out;
+    private DenseMatrix images;
+
+    private BatchScratch(InferenceModel model, int size) {
+
+      this.size = size;
+      this.inputSize = model.inputSize();
+      this.hidden = new DenseMatrix[model.layers.length - 1];
+      for (int l = 0; l < hidden.length; l++) {
+        hidden[l] = new DenseMatrix(size, model.layers[l].outputs());
+      }
+      this.out = new DenseMatrix(size, model.outputSize());
+    }
+
+    private DenseMatrix copy(double[][] src, int from, int n) {
+
+      if (images == null) {
+        images = new DenseMatrix(size, inputSize);
+      }
+      for (int i = 0; i < n; i++) {
+        if (src[from + i].length != images.cols()) {
+          throw new IllegalArgumentException(
+              String.format("Image %s has %s instead of %s pixels", from + i,
+                            src[from + i].length, images.cols()));
+        }
+        System.arraycopy(src[from + i], 0, images.data(), images.index(i, 0), images.cols());
+      }
+      return images.view(0, n);
+    }
+
+    private DenseMatrix load(Dataset set, int from, int n) {
+
+      if (images == null) {
+        images = new DenseMatrix(size, inputSize);
+      }
+      for (int i = 0; i < n; i++) {
+        set.image(from + i, images, i);
+      }
+      return images.view(0, n);
+    }
+  }
+
+}
@@ -0,0 +1,172 @@
+package neural.network;
+
+import neural.network.activation.Sigmoid;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.Gemm;
+import neural.network.linearalgebra.Matrix;
+
+/**
+ * A fully connected layer with sigmoid activation, see {@link Sigmoid}. The weights are a matrix of
+ * one row per output node and one column per input node. The layer holds no buffers, the
+ * activations and errors are written into arrays provided by the caller, so one layer can be used
+ * by several threads at once.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class Layer {
+
+  private final DenseMatrix weights;
+  private final Sigmoid sigmoid;
+
+  /**
+   * Creates a layer with the given weights without copying them.
+   *
+   * @param weights the weights, one row per output node
+   */
+  public Layer(DenseMatrix weights) {
+
+    this(weights, Sigmoid.EXACT);
+  }
+
+  /**
+   * Creates a layer with the given weights and activation without copying the weights.
+   *
+   * @param weights the weights, one row per output node
+   * @param sigmoid the evaluation of the activation function
+   */
+  public Layer(DenseMatrix weights, Sigmoid sigmoid) {
+
+    this.weights = weights;
+    this.sigmoid = sigmoid;
+  }
+
+  public DenseMatrix weights() {
+
+    return weights;
+  }
+
+  public Sigmoid sigmoid() {
+
+    return sigmoid;
+  }
+
+  public int inputs() {
+
+    return weights.cols();
+  }
+
+  public int outputs() {
+
+    return weights.rows();
+  }
+
+  /**
+   * Calculates the outputs of the layer for a single input: {@code out = sig(W * in)}.
+   *
+   * @param in  the outputs of the previous layer
+   * @param out the array receiving the outputs
+   * @return out
+   */
+  double[] forward(double[] in, double[] out) {
+
+    return sigmoid.apply(Matrix.mult(weights, in, out));
+  }
+
+  /**
+   * Propagates the errors of the layer to the previous layer: {@code errPrev = W^T * err}.
+   *
+   * @param err     the errors of this layer
+   * @param errPrev the array receiving the errors of the previous layer
+   * @return errPrev
+   */
+  double[] backward(double[] err, double[] errPrev) {
+
+    return Matrix.multTrans(weights, err, errPrev);
+  }
+
+  /**
+   * Corrects the weights in place: {@code W += lr * (err * out * (1 - out)) * in^T}.
+   *
+   * @param lr  the learning rate
+   * @param err the errors of this layer
+   * @param out the outputs of this layer
+   * @param in  the outputs of the previous layer
+   */
+  void correct(double lr, double[] err, double[] out, double[] in) {
+
+    Matrix.gerSigmoid(lr, err, out, in, weights);
+  }
+
+  /**
+   * Calculates the outputs of the layer for a batch: {@code out = sig(in * W^T)}.
+   *
+   * @param in  the outputs of the previous layer, one row per image
+   * @param out the matrix receiving the weighted sums, one row per image
+   * @return out
+   */
+  DenseMatrix forward(DenseMatrix in, DenseMatrix out) {
+
+    weightedSums(in, out);
+    for (int b = 0; b < out.rows(); b++) {
+      int row = out.index(b, 0);
+      sigmoid.apply(out.data(), row, row + out.cols());
+    }
+    return out;
+  }
+
+  /**
+   * Calculates the weighted sums of the layer for a batch without applying the sigmoid function:
+   * {@code out = in * W^T}.
+   *
+   * @param in  the outputs of the previous layer, one row per image
+   * @param out the matrix receiving the weighted sums, one row per image
+   * @return out
+   */
+  DenseMatrix weightedSums(DenseMatrix in, DenseMatrix out) {
+
+    Gemm.gemm(false, true, 1, in, weights, 0, out);
+    return out;
+  }
+
+  /**
+   * Propagates the errors of a batch to the previous layer: {@code errPrev = err * W}.
+   *
+   * @param err     the errors of this layer, one row per image
+   * @param errPrev the matrix receiving the errors of the previous layer
+   * @return errPrev
+   */
+  DenseMatrix backward(DenseMatrix err, DenseMatrix errPrev) {
+
+    Gemm.gemm(false, false, 1, err, weights, 0, errPrev);
+    return errPrev;
+  }
+
+  /**
+   * Writes {@code alpha * (err * out * (1 - out))^T * in + beta * target} into target. The errors
+   * are multiplied with the differential of the sigmoid function in place.
+   *
+   * @param alpha  the factor of the gradient
+   * @param err    the errors of this layer, one row per image
+   * @param out    the outputs of this layer, one row per image
+   * @param in     the outputs of the previous layer, one row per image
+   * @param beta   the factor of the previous target
+   * @param target the matrix of the size of the weights receiving the result
+   */
+  void gradient(double alpha, DenseMatrix err, DenseMatrix out, DenseMatrix in, double beta,
+                DenseMatrix target) {
+
+    double[] e = err.data();
+    double[] o = out.data();
+    for (int b = 0; b < err.rows(); b++) {
+      int row = err.index(b, 0);
+      int outRow = out.index(b, 0);
+      for (int k = 0; k < err.cols(); k++) {
+        double v = o[outRow + k];
+        e[row + k] *= v * (1 - v);
+      }
+    }
+    Gemm.gemm(true, false, alpha, err, in, beta, target);
+  }
+
+}
@@ -1,14 +1,22 @@
 package neural.network;
 
-import com.google.gson.Gson;
-import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import neural.network.activation.Sigmoid;
+import neural.network.data.Dataset;
+import neural.network.io.Checkpointer;
+import neural.network.io.ModelFile;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.metrics.ConsoleSink;
+import neural.network.metrics.CsvSink;
+import neural.network.metrics.JmxSink;
+import neural.network.metrics.MetricsSink;
+import neural.network.metrics.TrainingMetrics;
 
 /**
  * Main Entry point.
@@ -24,54 +32,200 @@ public class Main {
    */
   public static final String BASEPATH = "src/main/resources/weights/w-%s.json";
 
+  /**
+   * The path to the binary model file.
+   */
+  public static final String MODEL_PATH = "src/main/resources/weights/model.nnw";
+
+  /**
+   * The path to the checkpoint of a running training.
+   */
+  public static final String CHECKPOINT_PATH = "src/main/resources/weights/checkpoint.nnw";
+
+  /**
+   * The system property selecting the precision of a new training run, {@code float64} or
+   * {@code float32}. A continued run keeps the precision of its checkpoint.
+   */
+  public static final String PRECISION = "neural.network.precision";
+
+  /**
+   * The system property selecting the sinks of the training metrics, a comma separated list of
+   * {@code console}, {@code csv} and {@code jmx}, or {@code none}. Defaults to {@code console}.
+   */
+  public static final String METRICS = "neural.network.metrics";
+
+  /**
+   * The system property setting the time in milliseconds between two reports of the training
+   * metrics. Defaults to 1000.
+   */
+  public static final String METRICS_INTERVAL = "neural.network.metrics.interval";
+
+  /**
+   * The path to the file of the {@code csv} sink of the training metrics.
+   */
+  public static final String METRICS_PATH = "src/main/resources/weights/metrics.csv";
+
   public static void main(String[] args) {
 
-    var weights = fetchWeigths(2);
-    double[][] fst = weights.get(0);
-    double[][] sec = weights.get(1);
-    double[][] thrd = weights.get(2);
-    var net = new NeuralNet(fst, sec, thrd);
-    net.train(1, .1);
+    // continue an interrupted run or start a new one
+    Path checkpoint = Path.of(CHECKPOINT_PATH);
+    List<DenseMatrix> weights;
+    long seed;
+    long step;
+    boolean floats;
+    FloatNeuralNet floatNet = null;
+    if (Files.exists(checkpoint)) {
+      var state = Checkpointer.read(checkpoint);
+      weights = state.weights();
+      seed = state.seed();
+      step = state.step();
+      floats = ModelFile.type(checkpoint) == ModelFile.DataType.FLOAT32;
+    } else {
+      weights = fetchWeigths(2);
+      seed = new Random().nextLong();
+      step = 0;
+      floats = "float32".equals(System.getProperty(PRECISION, "float64"));
+    }
+    try (var checkpointer = new Checkpointer(checkpoint, 10_000, 60_000, step);
+         var metrics = metrics()) {
+      if (floats) {
+        floatNet = FloatNeuralNet.of(weights, Sigmoid.EXACT);
+        floatNet.train(1, .1f, seed, step, checkpointer, metrics);
+        // save the weights to file.
+        createWeightsDirectory();
+        ModelFile.writeFloat(Path.of(MODEL_PATH), floatNet.weights());
+      } else {
+        var net = new NeuralNet(weights);
+        net.train(1, .1, 1, seed, step, checkpointer, metrics);
+        // save the weights to file.
+        saveWeights(net.weights());
+      }
+    }
+    try {
+      Files.deleteIfExists(checkpoint);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (floatNet != null) {
+      evaluate(floatNet);
+    } else {
+      evaluate();
+    }
+
+  }
 
+  /**
+   * Classifies the MNIST test set with the saved weights and prints the accuracy, the throughput
+   * and the confusion matrix, see {@link InferenceModel#evaluate(Dataset)}. Prints a note instead
+   * if the test set is not available.
+   */
+  public static void evaluate() {
 
-    // save the weights to file.
-    saveWeights(net.getFstHiddenLayerWeigths(),
-                net.getSecondHiddenLayerWeigths(),
-                net.getFinalHiddenLayerWeigths());
+    Dataset set = readTestSet();
+    if (set == null) {
+      return;
+    }
+    var model = new InferenceModel(fetchWeigths(2));
+    System.out.print(model.evaluate(set));
+  }
+
+  /**
+   * Classifies the MNIST test set with the weights of a single precision run and prints the
+   * evaluation of the float weights, see {@link FloatNeuralNet#evaluate(Dataset)}, followed by the
+   * evaluation of the same weights in double precision. Prints a note instead if the test set is
+   * not available.
+   *
+   * @param net the trained network
+   */
+  public static void evaluate(FloatNeuralNet net) {
 
+    Dataset set = readTestSet();
+    if (set == null) {
+      return;
+    }
+    System.out.print("float32 " + net.evaluate(set));
+    System.out.print("float64 " + new InferenceModel(net.denseWeights()).evaluate(set));
   }
 
+  /**
+   * Assesses a random image of the MNIST test set and prints the output nodes next to its lable.
+   */
   public static void assessRandom() {
 
-    var weights = fetchWeigths(2);
-    double[][] fst = weights.get(0);
-    double[][] sec = weights.get(1);
-    double[][] thrd = weights.get(2);
-    var net = new NeuralNet(fst, sec, thrd);
-
-    Random rand = new Random();
-    int r = rand.nextInt(0, 60000);
-    double[] img = getImage(r);
-    short l = getLable(r);
+    var net = new NeuralNet(fetchWeigths(2));
+    var set = NeuralNet.readTestSet();
+    int r = new Random().nextInt(set.size());
+    double[] img = new double[set.imageSize()];
+    set.image(r, img, 0);
 
     double[] out = net.assess(img);
 
-    printResult(l, out);
+    printResult(set.lable(r), out);
   }
 
   public static void assess(double[] inp) {
 
-    var weights = fetchWeigths(2);
-    double[][] fst = weights.get(0);
-    double[][] sec = weights.get(1);
-    double[][] thrd = weights.get(2);
-    var net = new NeuralNet(fst, sec, thrd);
-
-    double[] out = net.assess(inp);
+    double[] out;
+    if (Files.exists(Path.of(MODEL_PATH))) {
+      // use the weights straight from the mapped file
+      out = MappedModel.open(Path.of(MODEL_PATH)).assess(inp);
+    } else {
+      var weights = fetchWeigths(2);
+      out = new NeuralNet(weights).assess(inp);
+    }
 
     printResult((short) -1, out);
   }
 
+  /**
+   * Reads the MNIST test set.
+   *
+   * @return the test set, null after printing a note if it can not be read
+   */
+  private static Dataset readTestSet() {
+
+    try {
+      return NeuralNet.readTestSet();
+    } catch (UncheckedIOException | IllegalArgumentException e) {
+      System.out.println("Skipping the evaluation, the test set can not be read: "
+                         + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Creates the training metrics with the sinks selected by {@value #METRICS}.
+   *
+   * @return the metrics
+   */
+  private static TrainingMetrics metrics() {
+
+    List<MetricsSink> sinks = new ArrayList<>();
+    for (String name : System.getProperty(METRICS, "console").split(",")) {
+      switch (name.trim()) {
+        case "console":
+          sinks.add(new ConsoleSink());
+          break;
+        case "csv":
+          createWeightsDirectory();
+          sinks.add(new CsvSink(Path.of(METRICS_PATH)));
+          break;
+        case "jmx":
+          sinks.add(new JmxSink());
+          break;
+        case "none":
+        case "":
+          break;
+        default:
+          throw new IllegalArgumentException(
+              String.format("Invalid sink %s of %s, expected console, csv, jmx or none", name,
+                            METRICS));
+      }
+    }
+    long interval = Long.parseLong(System.getProperty(METRICS_INTERVAL, "1000"));
+    return new TrainingMetrics(interval, sinks.toArray(MetricsSink[]::new));
+  }
+
   private static void printResult(short l, double[] out) {
 
     String br = "=".repeat(20);
@@ -86,107 +240,66 @@ public class Main {
 
   }
 
-  private static short getLable(int r) {
-
-
-    short lbl = 0;
-    short offset = 8;
-    try (var chan = Files.newByteChannel(Path.of(
-        "src/main/resources/data/t10k-labels.idx1-ubyte"))) {
-      chan.position(8);
-      byte[] arr = new byte[60000];
-      ByteBuffer buff = ByteBuffer.wrap(arr);
-      chan.read(buff);
-      lbl = arr[r];
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
-    return lbl;
-  }
-
-  private static double[] getImage(int r) {
-
-//    Path path = Path.of("src/main/resources/data/t10k-images.idx3-ubyte");
-    Path path = Path.of("src/main/resources/data/train-images.idx3-ubyte");
-
-    short size = 28 * 28;
-    short offset = 16;
-    double[] arr = new double[size];
-    try (var channel = Files.newByteChannel(path)) {
-      int start = r * size;
-
-      channel.position(offset + start);
-      byte[] b = new byte[size];
-      ByteBuffer buff = ByteBuffer.wrap(b);
-      channel.read(buff);
-
-      for (int i = 0; i < b.length; i++) {
-        arr[i] = (b[i] & 0xff) / 255.;
-      }
-
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
-    return arr;
-  }
-
   /**
    * Fetches weights from file or generates weights for the number of hidden layers supplied. The
-   * amount of weights generated is equal to the number of hidden layers +1.
+   * amount of weights generated is equal to the number of hidden layers +1. JSON weight files of
+   * earlier versions are converted into a model file on the first run.
    *
    * @param hiddenLayers amount of hidden layers.
    * @return a list of weigths
    */
-  private static List<double[][]> fetchWeigths(int hiddenLayers) {
-
-    var gson = new Gson();
-    int prevSize = 784;
-
+  private static List<DenseMatrix> fetchWeigths(int hiddenLayers) {
 
-    List<double[][]> weights = new ArrayList<>();
+    Path model = Path.of(MODEL_PATH);
+    List<Path> json = new ArrayList<>();
     for (int i = 0; i <= hiddenLayers; i++) {
-      int outSize = i == hiddenLayers ? 10 : (int) Math.sqrt(prevSize * 10);
-      final String path = String.format(BASEPATH, i);
-      try {
-        File f = new File(path);
-        if (f.createNewFile() || "".equals(Files.readString(Path.of(path)))) {
-          weights.add(generateRandomWeigths(i, prevSize, outSize));
-        } else {
-          weights.add(gson.fromJson(Files.readString(Path.of(path)), double[][].class));
+      json.add(Path.of(String.format(BASEPATH, i)));
+    }
+    try {
+      if (!Files.exists(model) && json.stream().allMatch(Main::hasContent)) {
+        ModelFile.convertJson(model, json);
+      }
+      if (Files.exists(model)) {
+        var weights = ModelFile.read(model);
+        if (weights.size() == hiddenLayers + 1) {
+          return weights;
         }
-      } catch (IOException e) {
-        weights.add(generateRandomWeigths(i, prevSize, outSize));
       }
+    } catch (UncheckedIOException | IllegalArgumentException e) {
+      e.printStackTrace();
+    }
 
+    int prevSize = 784;
+    var builder = NeuralNet.builder(prevSize);
+    for (int i = 0; i <= hiddenLayers; i++) {
+      int outSize = i == hiddenLayers ? 10 : (int) Math.sqrt(prevSize * 10);
+      builder.layer(outSize);
       prevSize = outSize;
     }
-    return weights;
+    return builder.build().weights();
   }
 
-  private static double[][] generateRandomWeigths(int index, int prevSize, int outSize) {
-
-    double[][] arr = new double[outSize][prevSize];
+  private static boolean hasContent(Path path) {
 
-    for (int i = 0; i < arr.length; i++) {
-      for (int j = 0; j < arr[i].length; j++) {
-        arr[i][j] = Math.random() * .1;
-      }
+    try {
+      return Files.size(path) > 0;
+    } catch (IOException e) {
+      return false;
     }
-    return arr;
   }
 
-  private static void saveWeights(double[][]... weights) {
-
-    var gson = new Gson();
-    for (int i = 0; i < weights.length; i++) {
-      final double[][] weight = weights[i];
-      String json = gson.toJson(weight);
-      String filePath = String.format(BASEPATH, i);
-      try {
-        Files.write(Path.of(filePath), json.getBytes());
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+  private static void saveWeights(List<DenseMatrix> weights) {
+
+    createWeightsDirectory();
+    ModelFile.write(Path.of(MODEL_PATH), weights);
+  }
+
+  private static void createWeightsDirectory() {
+
+    try {
+      Files.createDirectories(Path.of(MODEL_PATH).getParent());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
   }
 
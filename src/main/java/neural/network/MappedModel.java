@@ -0,0 +1,175 @@
+package neural.network;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import neural.network.activation.Sigmoid;
+import neural.network.io.ModelFile;
+import neural.network.linearalgebra.Matrix;
+
+/**
+ * Network for inference only that reads its weights straight from a memory mapped
+ * {@link ModelFile}. The weights are never copied onto the heap, all processes mapping the same
+ * file share the pages of the operating system's file cache, and opening a model only parses its
+ * header and checks its checksum. Files of float weights, see {@link FloatNeuralNet}, are read as
+ * floats and multiplied in double precision, so they take half the memory traffic. The products
+ * load the weights from the mapping through the {@link neural.network.linearalgebra.Kernels}, so
+ * they use the SIMD registers of the CPU like the products of {@link InferenceModel}.
+ *
+ * <p>Like {@link InferenceModel} the model is immutable and can be used from any amount of
+ * threads at once, the layers are written into buffers owned by the calling thread.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class MappedModel {
+
+  // the little endian weights of every layer, doubles or floats depending on the type of the file
+  private final ByteBuffer[] weights;
+  private final boolean floats;
+  private final int[] rows;
+  private final int[] cols;
+  private final Sigmoid sigmoid;
+  private final ThreadLocal<double[][]> scratch;
+
+  private MappedModel(ByteBuffer[] weights, boolean floats, int[] rows, int[] cols,
+                      Sigmoid sigmoid) {
+
+    this.weights = weights;
+    this.floats = floats;
+    this.rows = rows;
+    this.cols = cols;
+    this.sigmoid = sigmoid;
+    this.scratch = ThreadLocal.withInitial(() -> {
+      double[][] layers = new double[rows.length][];
+      for (int l = 0; l < rows.length; l++) {
+        layers[l] = new double[rows[l]];
+      }
+      return layers;
+    });
+  }
+
+  /**
+   * Maps a model file into memory.
+   *
+   * @param path the path of the model file
+   * @return the model
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no valid model file or the layers do not fit
+   *                                  together
+   */
+  public static MappedModel open(Path path) {
+
+    return open(path, Sigmoid.EXACT);
+  }
+
+  /**
+   * Maps a model file into memory, see {@link #open(Path)}.
+   *
+   * @param path    the path of the model file
+   * @param sigmoid the evaluation of the activation function of every layer
+   * @return the model
+   */
+  public static MappedModel open(Path path, Sigmoid sigmoid) {
+
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var buff = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buff.order(ByteOrder.LITTLE_ENDIAN);
+      var header = ModelFile.Header.decode(buff);
+      boolean floats = header.type() == ModelFile.DataType.FLOAT32;
+      var payload = header.payload(buff);
+      header.verify(payload);
+
+      int[] rows = header.rows();
+      int[] cols = header.cols();
+      if (rows.length == 0) {
+        throw new IllegalArgumentException(path + " holds no layers");
+      }
+      var weights = new ByteBuffer[rows.length];
+      int offset = 0;
+      for (int l = 0; l < rows.length; l++) {
+        if (l > 0 && cols[l] != rows[l - 1]) {
+          throw new IllegalArgumentException(
+              String.format("Layer %s expects %s inputs but layer %s has %s outputs", l, cols[l],
+                            l - 1, rows[l - 1]));
+        }
+        int bytes = rows[l] * cols[l] * header.type().bytes();
+        weights[l] = payload.slice(offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+        offset += bytes;
+      }
+      return new MappedModel(weights, floats, rows, cols, sigmoid);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public int inputSize() {
+
+    return cols[0];
+  }
+
+  public int outputSize() {
+
+    return rows[rows.length - 1];
+  }
+
+  public int layers() {
+
+    return rows.length;
+  }
+
+  /**
+   * Assess image data and writes the possibilities into out.
+   *
+   * @param input the image data
+   * @param out   the array receiving the output nodes
+   * @return out
+   */
+  public double[] assess(double[] input, double[] out) {
+
+    double[][] layers = scratch.get();
+    double[] in = input;
+    for (int l = 0; l < rows.length; l++) {
+      double[] dst = l == rows.length - 1 ? out : layers[l];
+      if (floats) {
+        Matrix.multFloats(weights[l], rows[l], cols[l], in, dst);
+      } else {
+        Matrix.multDoubles(weights[l], rows[l], cols[l], in, dst);
+      }
+      in = sigmoid.apply(dst);
+    }
+    return out;
+  }
+
+  /**
+   * Assess image data and return the array of possibilities.
+   *
+   * @param input the image data
+   * @return a new array with the output nodes
+   */
+  public double[] assess(double[] input) {
+
+    return assess(input, new double[outputSize()]);
+  }
+
+  /**
+   * Assess image data and returns the index of the most likely output node.
+   *
+   * @param input the image data
+   * @return the predicted lable
+   */
+  public int classify(double[] input) {
+
+    double[] out = assess(input, scratch.get()[rows.length - 1]);
+    int best = 0;
+    for (int i = 1; i < out.length; i++) {
+      best = out[i] > out[best] ? i : best;
+    }
+    return best;
+  }
+
+}
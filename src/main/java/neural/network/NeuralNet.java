@@ -1,17 +1,20 @@
 package neural.network;
 
-import static java.lang.Math.E;
-
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import neural.network.activation.Sigmoid;
+import neural.network.data.BatchPipeline;
+import neural.network.data.Dataset;
+import neural.network.data.EpochSampler;
+import neural.network.data.IdxDataset;
+import neural.network.io.Checkpointer;
+import neural.network.linearalgebra.DenseMatrix;
 import neural.network.linearalgebra.Matrix;
+import neural.network.metrics.TrainingMetrics;
 
 /**
  * Neural network for to process handwritten data from MNIST datasets.
@@ -21,169 +24,416 @@ import neural.network.linearalgebra.Matrix;
  */
 public class NeuralNet {
 
-  private static final int OUTPUT_SIZE = 10;
-  private static final List<double[][]> WEIGHTS = new ArrayList<>();
-  private static final List<double[]> HIDDEN_LAYERS_OUT = new ArrayList<>();
   private static final int MAX_IMAGE_COUNT = 60_000;
-  private double[][] fstHiddenLayerWeigths;
-  private double[][] secondHiddenLayerWeigths;
-  private double[][] finalHiddenLayerWeigths;
-  private double[] fstHLayer;
-  private double[] scndHlayer;
+  static final int IMAGE_SIZE = 28 * 28;
+  /**
+   * Amount of batches decoded ahead of the training.
+   */
+  static final int PREFETCH_SLOTS = 3;
+  private final Layer[] layers;
+  // buffers reused by every training step
+  private final Sample sample;
+  private Batch batch;
 
-  public double[][] getFstHiddenLayerWeigths() {
+  /**
+   * Creates a new network with provided data
+   */
+  public NeuralNet(double[][] fstWeights,
+                   double[][] scndWeights,
+                   double[][] fnlLayerWeights) {
 
-    return fstHiddenLayerWeigths;
+    this(DenseMatrix.of(fstWeights), DenseMatrix.of(scndWeights), DenseMatrix.of(fnlLayerWeights));
   }
 
-  public double[][] getSecondHiddenLayerWeigths() {
+  /**
+   * Creates a new network with provided data
+   */
+  public NeuralNet(DenseMatrix fstWeights,
+                   DenseMatrix scndWeights,
+                   DenseMatrix fnlLayerWeights) {
 
-    return secondHiddenLayerWeigths;
+    this(List.of(fstWeights, scndWeights, fnlLayerWeights));
   }
 
-  public double[][] getFinalHiddenLayerWeigths() {
+  /**
+   * Creates a network of any depth with the given weights, which are used without copying them.
+   * Every layer must have as many columns as the previous layer has rows.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   */
+  public NeuralNet(List<DenseMatrix> weights) {
 
-    return finalHiddenLayerWeigths;
+    this(weights, Sigmoid.EXACT);
   }
 
   /**
-   * Creates a new network with provided data
+   * Creates a network of any depth with the given weights and evaluation of the activation
+   * function, see {@link #NeuralNet(List)}.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   * @param sigmoid the evaluation of the activation function of every layer
    */
-  public NeuralNet(double[][] fstWeights,
-                   double[][] scndWeights,
-                   double[][] fnlLayerWeights) {
+  public NeuralNet(List<DenseMatrix> weights, Sigmoid sigmoid) {
 
-    this.fstHiddenLayerWeigths = fstWeights;
-    this.secondHiddenLayerWeigths = scndWeights;
-    this.finalHiddenLayerWeigths = fnlLayerWeights;
-    Collections.addAll(WEIGHTS, fstWeights, scndWeights, fnlLayerWeights);
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("A network needs at least one layer");
+    }
+    this.layers = new Layer[weights.size()];
+    for (int l = 0; l < layers.length; l++) {
+      var matrix = weights.get(l);
+      if (l > 0 && matrix.cols() != layers[l - 1].outputs()) {
+        throw new IllegalArgumentException(
+            String.format("Layer %s expects %s inputs but layer %s has %s outputs", l,
+                          matrix.cols(), l - 1, layers[l - 1].outputs()));
+      }
+      layers[l] = new Layer(matrix, sigmoid);
+    }
+    this.sample = new Sample(this);
+  }
+
+  /**
+   * Starts a builder for a network with the given amount of input nodes.
+   *
+   * @param inputs the amount of input nodes, e.g. the pixels of an image
+   * @return the builder
+   */
+  public static Builder builder(int inputs) {
+
+    return new Builder(inputs);
+  }
+
+  /**
+   * The layers of the network, from the first hidden layer to the output layer.
+   *
+   * @return an unmodifiable list of the layers
+   */
+  public List<Layer> layers() {
+
+    return List.of(layers);
   }
 
   public void train(int generations, double lr) {
 
+    train(generations, lr, 1);
+  }
 
-    short tOffset = 16;
-    short lOffset = 8;
-    short imageSize = 28 * 28;
-    Path train = Path.of("src/main/resources/data/train-images.idx3-ubyte");
-    Path lbl = Path.of("src/main/resources/data/train-labels.idx1-ubyte");
-    // open a channel to the file data.
-    try (var trainChannel = Files.newByteChannel(train);
-         var lblChannel = Files.newByteChannel(lbl)) {
-      trainChannel.position(tOffset);
-      lblChannel.position(lOffset);
-      byte[] trainBytes = new byte[MAX_IMAGE_COUNT * imageSize];
-      byte[] lblBytes = new byte[MAX_IMAGE_COUNT];
-      var tBuff = ByteBuffer.wrap(trainBytes);
-      var lBuff = ByteBuffer.wrap(lblBytes);
-      trainChannel.read(tBuff);
-      lblChannel.read(lBuff);
-
-      double[] trainDouble = new double[MAX_IMAGE_COUNT * imageSize];
-      for (int i = 0; i < tBuff.array().length; i++) {
-        byte b = tBuff.array()[i];
-        trainDouble[i] = (b & 0xff) / 255.;
-      }
-      Random rand = new Random();
-
-      long start = System.currentTimeMillis();
-      long total = (long) MAX_IMAGE_COUNT * generations;
-      for (int i = 0; i < generations; i++) {
-        for (int j = 0; j < MAX_IMAGE_COUNT; j++) {
-          long current = System.currentTimeMillis();
-          progressBar((i + 1) * j, total, current - start);
-          // get a random image
-          int r = rand.nextInt(0, MAX_IMAGE_COUNT);
-          double[] img = Arrays.copyOfRange(trainDouble, r * imageSize,
-                                            r * imageSize + imageSize);
-          short lable = lBuff.array()[r];
-
-          processAndCorrect(lr, img, lable);
-        }
-      }
+  /**
+   * Trains the network on the MNIST training set. With a batch size above one, the images of a
+   * batch are processed together as matrix products and the weights are corrected once per batch,
+   * see {@link #processAndCorrect(double, DenseMatrix, short[])}.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   * @param batchSize   the amount of images per weight correction
+   */
+  public void train(int generations, double lr, int batchSize) {
 
-    } catch (IOException e) {
+    train(generations, lr, batchSize, new Random().nextLong());
+  }
+
+  /**
+   * Trains the network on the MNIST training set, visiting the images in a new order every
+   * generation. Runs with the same seed and initial weights pick the same images in the same
+   * order.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   * @param batchSize   the amount of images per weight correction
+   * @param seed        the seed of the order of the images
+   */
+  public void train(int generations, double lr, int batchSize, long seed) {
+
+    train(generations, lr, batchSize, seed, 0, null);
+  }
+
+  /**
+   * Trains the network on the MNIST training set starting at the given step of a run, see
+   * {@link #train(int, double, int, long)}. A run continued with the seed and step of a
+   * {@link Checkpointer.Checkpoint} and its weights trains on the same images as the uninterrupted
+   * run would have. The progress is shown on the console, see {@link TrainingMetrics#console()}.
+   *
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param batchSize    the amount of images per weight correction
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   */
+  public void train(int generations, double lr, int batchSize, long seed, long fromStep,
+                    Checkpointer checkpointer) {
+
+    try (var console = TrainingMetrics.console()) {
+      train(generations, lr, batchSize, seed, fromStep, checkpointer, console);
+    }
+  }
+
+  /**
+   * Trains the network on the MNIST training set starting at the given step of a run, see
+   * {@link #train(Dataset, int, double, int, long, long, Checkpointer, TrainingMetrics)}.
+   *
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param batchSize    the amount of images per weight correction
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   * @param metrics      records the progress of the training, may be null
+   */
+  public void train(int generations, double lr, int batchSize, long seed, long fromStep,
+                    Checkpointer checkpointer, TrainingMetrics metrics) {
+
+    try {
+      train(readTrainingSet(), generations, lr, batchSize, seed, fromStep, checkpointer, metrics);
+    } catch (UncheckedIOException e) {
       e.printStackTrace();
       System.exit(1);
     }
-
   }
 
-  private void progressBar(int prog, long total, long dur) {
+  /**
+   * Trains the network on a training set starting at the given step of a run, see
+   * {@link #train(int, double, int, long, long, Checkpointer)}. The metrics record the time of
+   * every layer, the loss and the accuracy of the trained images and report them to their sinks,
+   * they are started and finished but not closed by the training.
+   *
+   * @param set          the training set
+   * @param generations  the amount of passes over the training set of the whole run
+   * @param lr           the learning rate
+   * @param batchSize    the amount of images per weight correction
+   * @param seed         the seed of the order of the images
+   * @param fromStep     the amount of steps already done
+   * @param checkpointer takes checkpoints during the training, may be null
+   * @param metrics      records the progress of the training, may be null
+   */
+  public void train(Dataset set, int generations, double lr, int batchSize, long seed,
+                    long fromStep, Checkpointer checkpointer, TrainingMetrics metrics) {
 
-    double p = ((prog + 1) / (double) total) * 100.;
-    String bars = "=".repeat((int) ((prog + 1) * 20 / total)) + ">";
+    if (batchSize < 1 || batchSize > set.size()) {
+      throw new IllegalArgumentException(
+          String.format("Invalid batch size %s for %s images", batchSize, set.size()));
+    }
+    if (set.imageSize() != layers[0].inputs()) {
+      throw new IllegalArgumentException(
+          String.format("Images of %s pixels do not fit %s inputs", set.imageSize(),
+                        layers[0].inputs()));
+    }
 
-    int hours = (int) (dur / 60000 * 60);
-    int min = (int) (dur / 60000);
-    float sec = (float) (dur / 1000.);
-    System.out.printf("%5.2f [%-21s] %s/%s,\tduration: %2s:%2s:%5.2f\r", p, bars, prog + 1, total,
-                      hours, min, sec);
+    long steps = (long) (set.size() / batchSize) * generations;
+    var sampler = new EpochSampler(set.size(), seed);
+    sampler.seek(fromStep * batchSize);
+    try (var pipeline = new BatchPipeline(set, batchSize, PREFETCH_SLOTS, sampler)) {
+      var weights = weights();
+      if (metrics != null) {
+        metrics.start(layers.length, steps * batchSize, fromStep * batchSize);
+      }
+      for (long step = fromStep; step < steps; step++) {
+        var batch = pipeline.next();
+        if (batchSize == 1) {
+          // a single image is the whole backing array of the batch
+          processAndCorrect(lr, batch.images().data(), batch.lables()[0], sample, metrics);
+        } else {
+          processAndCorrect(lr, batch.images(), batch.lables(), metrics);
+        }
+        if (metrics != null) {
+          metrics.step(batchSize);
+        }
+        if (checkpointer != null) {
+          checkpointer.step(step + 1, seed, weights);
+        }
+      }
+      if (checkpointer != null) {
+        checkpointer.save(steps, seed, weights);
+      }
+      if (metrics != null) {
+        metrics.finish();
+      }
+    }
   }
 
   /**
-   * Applies the sigmoid function to every element of an array.
+   * The weights of all layers, from the first hidden layer to the output layer.
    *
-   * @param arr the array of doubles
-   * @return the sigmoid corrected array
+   * @return the weights, backed by the network
    */
-  private double[] sigmoid(double[] arr) {
+  public List<DenseMatrix> weights() {
 
-    double[] temp = new double[arr.length];
-    for (int i = 0; i < arr.length; i++) {
-      double x = -1 * arr[i];
-      temp[i] = (1 / (1 + Math.pow(E, x)));
+    List<DenseMatrix> weights = new ArrayList<>(layers.length);
+    for (Layer layer : layers) {
+      weights.add(layer.weights());
     }
-    return temp;
+    return weights;
+  }
+
+  /**
+   * Maps the MNIST training set into memory.
+   *
+   * @return the training set
+   */
+  static Dataset readTrainingSet() {
+
+    return IdxDataset.open(Path.of("src/main/resources/data/train-images.idx3-ubyte"),
+                           Path.of("src/main/resources/data/train-labels.idx1-ubyte"));
+  }
+
+  /**
+   * Maps the MNIST test set of 10k images into memory.
+   *
+   * @return the test set
+   */
+  static Dataset readTestSet() {
+
+    return IdxDataset.open(Path.of("src/main/resources/data/t10k-images.idx3-ubyte"),
+                           Path.of("src/main/resources/data/t10k-labels.idx1-ubyte"));
   }
 
   /**
    * Assess image data and return the array of possibilities. In a well-trained network the output
-   * should converge to 1 for the only a single node and to 0 for all others.
+   * should converge to 1 for the only a single node and to 0 for all others. The intermediate
+   * layers are kept in local arrays, so concurrent calls do not interfere with each other. Use
+   * {@link #freeze()} to serve many concurrent calls without allocating.
    *
    * @param input the image data
    * @return the array of output nodes
    */
   public double[] assess(double[] input) {
 
-    double[] fstHidden = Matrix.mult(fstHiddenLayerWeigths, input);
-    fstHLayer = sigmoid(fstHidden);
-    double[] sndHidden = Matrix.mult(secondHiddenLayerWeigths, fstHLayer);
-    scndHlayer = sigmoid(sndHidden);
-    return sigmoid(Matrix.mult(finalHiddenLayerWeigths, scndHlayer));
+    double[] out = input;
+    for (Layer layer : layers) {
+      out = layer.forward(out, new double[layer.outputs()]);
+    }
+    return out;
+  }
+
+  /**
+   * Assess a batch of images, see {@link InferenceModel#assessBatch(DenseMatrix)}.
+   *
+   * @param images the images, one per row
+   * @return a matrix with the output nodes of every image in its row
+   */
+  public DenseMatrix assessBatch(DenseMatrix images) {
+
+    return freeze().assessBatch(images);
   }
 
   /**
-   * Starts the training of the network for the given amount of generations.
+   * Assess a batch of images, see {@link InferenceModel#assessBatch(double[][])}.
+   *
+   * @param images the images
+   * @return a matrix with the output nodes of every image in its row
+   */
+  public DenseMatrix assessBatch(double[][] images) {
+
+    return freeze().assessBatch(images);
+  }
+
+  /**
+   * Predicts the lables of a batch of images, see
+   * {@link InferenceModel#classifyBatch(DenseMatrix)}.
+   *
+   * @param images the images, one per row
+   * @return the predicted lable of every image
+   */
+  public int[] classifyBatch(DenseMatrix images) {
+
+    return freeze().classifyBatch(images);
+  }
+
+  /**
+   * Classifies every image of a test set, see {@link InferenceModel#evaluate(Dataset)}.
+   *
+   * @param set the test set
+   * @return the accuracy, the confusion matrix and the throughput
+   */
+  public Evaluation evaluate(Dataset set) {
+
+    return freeze().evaluate(set);
+  }
+
+  /**
+   * Creates an immutable copy of the current weights for inference. Later training of this network
+   * does not change the returned model.
+   *
+   * @return the frozen model
+   */
+  public InferenceModel freeze() {
+
+    return new InferenceModel(weights(), layers[0].sigmoid());
+  }
+
+  /**
+   * Creates a copy of the current weights quantised to bytes for fast inference, see
+   * {@link QuantizedModel}.
+   *
+   * @return the quantised model
+   */
+  public QuantizedModel quantize() {
+
+    return QuantizedModel.quantize(weights(), layers[0].sigmoid());
+  }
+
+  /**
+   * Starts the training of the network for the given amount of generations. All intermediate
+   * values are written into buffers of the network, so no arrays are allocated per sample.
    *
    * @param learingrate the learning rate at which the network learns
    * @param lbl         the lable of for the current entry
    */
   public void processAndCorrect(double learingrate, double[] input, short lbl) {
 
-    // input to hidden
-    double[] fstHidden = Matrix.mult(fstHiddenLayerWeigths, input);
-    fstHLayer = sigmoid(fstHidden);
-    // first hidden to second hidden
-    double[] sndHidden = Matrix.mult(secondHiddenLayerWeigths, fstHLayer);
-    scndHlayer = sigmoid(sndHidden);
-    // second hidden to out
-    double[] out = sigmoid(Matrix.mult(finalHiddenLayerWeigths, scndHlayer));
+    processAndCorrect(learingrate, input, lbl, sample, null);
+  }
+
+  /**
+   * Processes a single image with the provided buffers and corrects the weights in place. The
+   * weights are updated without any synchronisation, so several threads may train the same network
+   * at once as long as every thread uses its own buffers, see {@link HogwildTrainer}.
+   *
+   * @param learingrate the learning rate at which the network learns
+   * @param input       the image data
+   * @param lbl         the lable of for the current entry
+   * @param buffers     the buffers of the calling thread
+   */
+  void processAndCorrect(double learingrate, double[] input, short lbl, Sample buffers) {
+
+    processAndCorrect(learingrate, input, lbl, buffers, null);
+  }
+
+  private void processAndCorrect(double learingrate, double[] input, short lbl, Sample buffers,
+                                 TrainingMetrics metrics) {
+
+    // forward pass through every layer
+    long time = metrics == null ? 0 : System.nanoTime();
+    double[] in = input;
+    for (int l = 0; l < layers.length; l++) {
+      in = layers[l].forward(in, buffers.out[l]);
+      if (metrics != null) {
+        time = metrics.forward(l, time);
+      }
+    }
 
     /*
      * correction function
      * */
     // set target for error calculation
-    double[] target = new double[out.length];
-    target[lbl] = 1;
-
-    double[] err = Matrix.sub(target, out);
+    int last = layers.length - 1;
+    Arrays.fill(buffers.target, 0);
+    buffers.target[lbl] = 1;
+
+    Matrix.sub(buffers.target, buffers.out[last], buffers.err[last]);
+    if (metrics != null) {
+      metrics.score(buffers.err[last], buffers.out[last], lbl);
+      time = System.nanoTime();
+    }
     // calc consecutive errors for the hidden layers
-    // second hidden layer error is the error times the weights used for calculating the final
-    // outputs.
-    // => the Weighted sum of all errors used for the final output
-    double[] errSndHid = Matrix.multTrans(finalHiddenLayerWeigths, err);
-    double[] errFstHid = Matrix.multTrans(secondHiddenLayerWeigths, errSndHid);
+    // the error of a hidden layer is the error of the next layer times the weights used for
+    // calculating the outputs of the next layer.
+    // => the Weighted sum of all errors used for the next output
+    for (int l = last; l > 0; l--) {
+      layers[l].backward(buffers.err[l], buffers.err[l - 1]);
+      if (metrics != null) {
+        time = metrics.backward(l, time);
+      }
+    }
 
        /*
        calc the absolute errors and correct by the learning rate
@@ -195,43 +445,231 @@ public class NeuralNet {
        <=> f'(x) = -(target - err) * out * (1 - out) * outHid.T
        this value will be subtracted from the current weigths after
        */
+    for (int l = last; l >= 0; l--) {
+      layers[l].correct(learingrate, buffers.err[l], buffers.out[l],
+                        l == 0 ? input : buffers.out[l - 1]);
+      if (metrics != null) {
+        time = metrics.update(l, time);
+      }
+    }
+  }
+
+  /**
+   * Processes a mini-batch of images and corrects the weights once with the averaged gradient of
+   * the batch. Every row of the inputs is one image. The forward and backward passes are matrix
+   * products over the whole batch, so the weights are streamed from memory once per batch instead
+   * of once per image.
+   *
+   * @param learingrate the learning rate at which the network learns
+   * @param inputs      the images of the batch, one per row
+   * @param lbls        the lables of the images
+   */
+  public void processAndCorrect(double learingrate, DenseMatrix inputs, short[] lbls) {
+
+    processAndCorrect(learingrate, inputs, lbls, null);
+  }
+
+  private void processAndCorrect(double learingrate, DenseMatrix inputs, short[] lbls,
+                                 TrainingMetrics metrics) {
+
+    if (batch == null || batch.size != inputs.rows()) {
+      batch = new Batch(inputs.rows(), this);
+    }
+    // sum the corrections of all images: W += lr / n * (E * O * (1 - O))^T * H_prev
+    correct(inputs, lbls, 0, batch, learingrate / lbls.length, 1, batch.weights, metrics);
+  }
+
+  /**
+   * Calculates the summed gradients of a mini-batch without changing the weights. The gradients
+   * are written into the provided matrices which must have the same size as the weights.
+   *
+   * @param inputs  the images of the batch, one per row
+   * @param lbls    the lables of the images
+   * @param offset  the index of the lable of the first image
+   * @param buffers the buffers of the batch
+   * @param grads   the gradients of the weights of every layer
+   */
+  void gradients(DenseMatrix inputs, short[] lbls, int offset, Batch buffers, DenseMatrix[] grads) {
+
+    correct(inputs, lbls, offset, buffers, 1, 0, grads, null);
+  }
+
+  /**
+   * Runs the forward and backward pass for a mini-batch and writes
+   * {@code alpha * gradient + beta * target} into the targets of every layer. The metrics, if not
+   * null, record the time of every layer and score the images.
+   */
+  private void correct(DenseMatrix inputs, short[] lbls, int offset, Batch buffers, double alpha,
+                       double beta, DenseMatrix[] targets, TrainingMetrics metrics) {
+
+    if (inputs.rows() != buffers.size || lbls.length < offset + buffers.size) {
+      throw new IllegalArgumentException(
+          String.format("Got %s images but %s lables", inputs.rows(), lbls.length - offset));
+    }
+
+    // forward pass, every row of the outputs belongs to one image: H = sig(X * W^T)
+    long time = metrics == null ? 0 : System.nanoTime();
+    DenseMatrix in = inputs;
+    for (int l = 0; l < layers.length; l++) {
+      in = layers[l].forward(in, buffers.out[l]);
+      if (metrics != null) {
+        time = metrics.forward(l, time);
+      }
+    }
+
+    // errors of the output and the hidden layers: E_prev = E * W
+    int last = layers.length - 1;
+    double[] outData = buffers.out[last].data();
+    double[] errData = buffers.err[last].data();
+    for (int i = 0; i < errData.length; i++) {
+      errData[i] = -outData[i];
+    }
+    for (int b = 0; b < buffers.size; b++) {
+      errData[buffers.err[last].index(b, lbls[offset + b])] += 1;
+    }
+    if (metrics != null) {
+      // before the gradient of the output layer scales the errors in place
+      metrics.score(buffers.err[last], buffers.out[last], lbls, offset);
+      time = System.nanoTime();
+    }
+    for (int l = last; l > 0; l--) {
+      layers[l].backward(buffers.err[l], buffers.err[l - 1]);
+      if (metrics != null) {
+        time = metrics.backward(l, time);
+      }
+    }
+
+    // gradients: (E * O * (1 - O))^T * H_prev
+    for (int l = last; l >= 0; l--) {
+      layers[l].gradient(alpha, buffers.err[l], buffers.out[l],
+                         l == 0 ? inputs : buffers.out[l - 1], beta, targets[l]);
+      if (metrics != null) {
+        time = metrics.update(l, time);
+      }
+    }
+  }
+
+  /**
+   * Buffers for the activations and errors of a single image.
+   */
+  static final class Sample {
+
+    private final double[][] out;
+    private final double[][] err;
+    private final double[] target;
+
+    Sample(NeuralNet net) {
+
+      this.out = new double[net.layers.length][];
+      this.err = new double[net.layers.length][];
+      for (int l = 0; l < net.layers.length; l++) {
+        out[l] = new double[net.layers[l].outputs()];
+        err[l] = new double[net.layers[l].outputs()];
+      }
+      this.target = new double[net.layers[net.layers.length - 1].outputs()];
+    }
+  }
+
+  /**
+   * Buffers for the activations and errors of a mini-batch, one row per image.
+   */
+  static final class Batch {
+
+    private final int size;
+    private final DenseMatrix[] out;
+    private final DenseMatrix[] err;
+    private final DenseMatrix[] weights;
+
+    Batch(int size, NeuralNet net) {
+
+      this.size = size;
+      this.out = new DenseMatrix[net.layers.length];
+      this.err = new DenseMatrix[net.layers.length];
+      this.weights = new DenseMatrix[net.layers.length];
+      for (int l = 0; l < net.layers.length; l++) {
+        out[l] = new DenseMatrix(size, net.layers[l].outputs());
+        err[l] = new DenseMatrix(size, net.layers[l].outputs());
+        weights[l] = net.layers[l].weights();
+      }
+    }
+
+    int size() {
+
+      return size;
+    }
+  }
+
+  /**
+   * Builder for a network of any depth with random initial weights.
+   */
+  public static final class Builder {
+
+    private final List<Integer> sizes = new ArrayList<>();
+    private Random rand = new Random();
+    private Sigmoid sigmoid = Sigmoid.EXACT;
+
+    private Builder(int inputs) {
+
+      sizes.add(inputs);
+    }
 
-    finalHiddenLayerWeigths = Matrix.add(finalHiddenLayerWeigths,
-                                         correctErrors(err,
-                                                       out,
-                                                       scndHlayer,
-                                                       learingrate));
-    // second layer
-    secondHiddenLayerWeigths = Matrix.add(secondHiddenLayerWeigths,
-                                          correctErrors(errSndHid,
-                                                        scndHlayer,
-                                                        fstHLayer,
-                                                        learingrate));
-    // first layer
-    fstHiddenLayerWeigths = Matrix.add(fstHiddenLayerWeigths,
-                                       correctErrors(errFstHid,
-                                                     fstHLayer,
-                                                     input,
-                                                     learingrate));
-  }
-
-  /**
-   * Calculate the error of the given output and creates a weigthed error matrix for the weights
-   * leading into the output layer.
-   *
-   * @param err          the error from the current output
-   * @param curOut       the current output
-   * @param prevHidden   the previous hidden layer
-   * @param learningRate the learning rate at which changes are applied to the weights
-   * @return the errors for the previous hidden layer
-   */
-  private double[][] correctErrors(double[] err,
-                                   double[] curOut,
-                                   double[] prevHidden,
-                                   double learningRate) {
-
-    double[] errHid = Matrix.multVertices(err, curOut, Matrix.sub(curOut, 1));
-    return Matrix.mult(learningRate, Matrix.multTrans(errHid, prevHidden));
+    /**
+     * Appends a layer. The last layer appended is the output layer.
+     *
+     * @param size the amount of nodes of the layer
+     * @return this builder
+     */
+    public Builder layer(int size) {
+
+      if (size < 1) {
+        throw new IllegalArgumentException("Invalid layer size " + size);
+      }
+      sizes.add(size);
+      return this;
+    }
+
+    /**
+     * Sets the random generator of the initial weights.
+     *
+     * @param rand the random generator
+     * @return this builder
+     */
+    public Builder random(Random rand) {
+
+      this.rand = rand;
+      return this;
+    }
+
+    /**
+     * Sets the evaluation of the activation function, {@link Sigmoid#EXACT} by default.
+     *
+     * @param sigmoid the evaluation of the activation function
+     * @return this builder
+     */
+    public Builder sigmoid(Sigmoid sigmoid) {
+
+      this.sigmoid = sigmoid;
+      return this;
+    }
+
+    /**
+     * Creates the network. The weights are drawn uniformly from [0, 0.1).
+     *
+     * @return the network
+     */
+    public NeuralNet build() {
+
+      List<DenseMatrix> weights = new ArrayList<>(sizes.size() - 1);
+      for (int l = 1; l < sizes.size(); l++) {
+        var matrix = new DenseMatrix(sizes.get(l), sizes.get(l - 1));
+        double[] data = matrix.data();
+        for (int i = 0; i < data.length; i++) {
+          data[i] = rand.nextDouble() * .1;
+        }
+        weights.add(matrix);
+      }
+      return new NeuralNet(weights, sigmoid);
+    }
   }
 
 }
@@ -0,0 +1,245 @@
+package neural.network;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import neural.network.data.BatchPipeline;
+import neural.network.data.EpochSampler;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+import neural.network.linearalgebra.Matrix;
+import neural.network.metrics.TrainingMetrics;
+
+/**
+ * Data parallel trainer for a {@link NeuralNet}. Every mini-batch is split into one shard per
+ * worker. The workers calculate the gradients of their shard with their own activation buffers,
+ * the gradients are then summed pairwise in a tree and the sum is applied to the weights of the
+ * network once per batch.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public class ParallelTrainer implements AutoCloseable {
+
+  private final List<DenseMatrix> weights;
+  private final ExecutorService executor;
+  private final Worker[] workers;
+  private long wallNanos;
+
+  /**
+   * Creates a trainer with the given amount of worker threads.
+   *
+   * @param net     the network to train
+   * @param threads the amount of worker threads
+   */
+  public ParallelTrainer(NeuralNet net, int threads) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("Invalid amount of threads " + threads);
+    }
+    this.weights = net.weights();
+    this.workers = new Worker[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new Worker(net);
+    }
+    var count = new AtomicInteger();
+    // the workers are the parallelism, their matrix operations run on the worker itself
+    this.executor = Executors.newFixedThreadPool(threads, r -> {
+      String name = "trainer-" + count.getAndIncrement();
+      var thread = new Thread(() -> ExecutionPolicy.inline(r), name);
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Trains the network on the MNIST training set. The progress is shown on the console, see
+   * {@link TrainingMetrics#console()}, the utilisation of the workers by {@link #utilisation()}.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   * @param batchSize   the amount of images per weight correction
+   */
+  public void train(int generations, double lr, int batchSize) {
+
+    try (var console = TrainingMetrics.console()) {
+      train(generations, lr, batchSize, console);
+    }
+  }
+
+  /**
+   * Trains the network on the MNIST training set, see {@link #train(int, double, int)}. The
+   * gradients are calculated by the workers, so the metrics record the throughput, the allocation
+   * and the garbage collection but neither the times of the layers nor the loss.
+   *
+   * @param generations the amount of passes over the training set
+   * @param lr          the learning rate
+   * @param batchSize   the amount of images per weight correction
+   * @param metrics     records the progress of the training, may be null
+   */
+  public void train(int generations, double lr, int batchSize, TrainingMetrics metrics) {
+
+    try {
+      var set = NeuralNet.readTrainingSet();
+      if (batchSize < 1 || batchSize > set.size()) {
+        throw new IllegalArgumentException(
+            String.format("Invalid batch size %s for %s images", batchSize, set.size()));
+      }
+      int steps = set.size() / batchSize;
+      var sampler = new EpochSampler(set.size(), new Random().nextLong());
+      try (var pipeline = new BatchPipeline(set, batchSize, NeuralNet.PREFETCH_SLOTS, sampler)) {
+        if (metrics != null) {
+          metrics.start(weights.size(), (long) steps * batchSize * generations, 0);
+        }
+        for (int i = 0; i < generations; i++) {
+          for (int j = 0; j < steps; j++) {
+            var batch = pipeline.next();
+            processAndCorrect(lr, batch.images(), batch.lables());
+            if (metrics != null) {
+              metrics.step(batchSize);
+            }
+          }
+        }
+        if (metrics != null) {
+          metrics.finish();
+        }
+      }
+    } catch (UncheckedIOException e) {
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Processes a mini-batch on all workers and corrects the weights once with the averaged gradient
+   * of the batch.
+   *
+   * @param learingrate the learning rate at which the network learns
+   * @param inputs      the images of the batch, one per row
+   * @param lbls        the lables of the images
+   */
+  public void processAndCorrect(double learingrate, DenseMatrix inputs, short[] lbls) {
+
+    if (inputs.rows() != lbls.length) {
+      throw new IllegalArgumentException(
+          String.format("Got %s images but %s lables", inputs.rows(), lbls.length));
+    }
+
+    long start = System.nanoTime();
+    int n = inputs.rows();
+    int shards = Math.min(workers.length, n);
+
+    // every worker calculates the gradient of its shard
+    List<Callable<Void>> tasks = new ArrayList<>(shards);
+    for (int w = 0; w < shards; w++) {
+      int from = (int) ((long) n * w / shards);
+      int to = (int) ((long) n * (w + 1) / shards);
+      var shard = inputs.view(from, to - from);
+      var worker = workers[w];
+      tasks.add(() -> worker.gradients(shard, lbls, from));
+    }
+    run(tasks);
+
+    // sum the gradients pairwise, after the last level worker 0 holds the total
+    for (int step = 1; step < shards; step *= 2) {
+      tasks.clear();
+      for (int w = 0; w + step < shards; w += 2 * step) {
+        var worker = workers[w];
+        var other = workers[w + step];
+        tasks.add(() -> worker.reduce(other));
+      }
+      run(tasks);
+    }
+
+    DenseMatrix[] grads = workers[0].grads;
+    double alpha = learingrate / n;
+    for (int l = 0; l < grads.length; l++) {
+      Matrix.add(alpha, grads[l], weights.get(l));
+    }
+    wallNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * The share of the training time every worker spent calculating or reducing gradients.
+   *
+   * @return the utilisation per worker between 0 and 1
+   */
+  public double[] utilisation() {
+
+    double[] utilisation = new double[workers.length];
+    for (int i = 0; i < workers.length; i++) {
+      utilisation[i] = wallNanos == 0 ? 0 : workers[i].busyNanos / (double) wallNanos;
+    }
+    return utilisation;
+  }
+
+  @Override
+  public void close() {
+
+    executor.shutdown();
+  }
+
+  private void run(List<Callable<Void>> tasks) {
+
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while training", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Worker failed", e.getCause());
+    }
+  }
+
+  /**
+   * Buffers and gradients of a single worker.
+   */
+  private static final class Worker {
+
+    private final NeuralNet net;
+    private final DenseMatrix[] grads;
+    private NeuralNet.Batch batch;
+    private long busyNanos;
+
+    private Worker(NeuralNet net) {
+
+      this.net = net;
+      var weights = net.weights();
+      this.grads = new DenseMatrix[weights.size()];
+      for (int l = 0; l < grads.length; l++) {
+        grads[l] = new DenseMatrix(weights.get(l).rows(), weights.get(l).cols());
+      }
+    }
+
+    private Void gradients(DenseMatrix shard, short[] lbls, int offset) {
+
+      long start = System.nanoTime();
+      if (batch == null || batch.size() != shard.rows()) {
+        batch = new NeuralNet.Batch(shard.rows(), net);
+      }
+      net.gradients(shard, lbls, offset, batch, grads);
+      busyNanos += System.nanoTime() - start;
+      return null;
+    }
+
+    private Void reduce(Worker other) {
+
+      long start = System.nanoTime();
+      for (int i = 0; i < grads.length; i++) {
+        Matrix.add(grads[i], other.grads[i], grads[i]);
+      }
+      busyNanos += System.nanoTime() - start;
+      return null;
+    }
+  }
+
+}
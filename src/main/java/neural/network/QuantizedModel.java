@@ -0,0 +1,253 @@
+package neural.network;
+
+import java.util.List;
+import neural.network.activation.Sigmoid;
+import neural.network.data.IdxFile;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.Matrix;
+
+/**
+ * Network for inference only with weights quantised to signed bytes. Every row of a weight matrix
+ * is scaled by its largest absolute value to [-127, 127], so a weight takes an eighth of the
+ * memory of a double and the weights of an MNIST network fit into the L2 cache.
+ *
+ * <p>The inputs of every layer are unsigned bytes: the pixels of an image as stored in the IDX
+ * file and the activations of the hidden layers rounded to 1/255. A layer sums the integer
+ * products exactly and only dequantises the sums with the scale of the row before applying the
+ * activation function.</p>
+ *
+ * <p>Like {@link InferenceModel} the model is immutable and can be used from any amount of
+ * threads at once.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class QuantizedModel {
+
+  /**
+   * The largest quantised weight.
+   */
+  static final int WEIGHT_LEVELS = 127;
+  /**
+   * The value of an input byte representing 1.
+   */
+  static final int INPUT_LEVELS = 255;
+
+  private final byte[][] weights;
+  // the scale of every row including the scale of the inputs
+  private final double[][] scales;
+  private final int[] rows;
+  private final int[] cols;
+  private final Sigmoid sigmoid;
+  private final ThreadLocal<Scratch> scratch;
+
+  private QuantizedModel(byte[][] weights, double[][] scales, int[] rows, int[] cols,
+                         Sigmoid sigmoid) {
+
+    this.weights = weights;
+    this.scales = scales;
+    this.rows = rows;
+    this.cols = cols;
+    this.sigmoid = sigmoid;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(this));
+  }
+
+  /**
+   * Quantises the weights of a trained network. Every row w is stored as
+   * {@code round(w * 127 / max|w|)} with the scale {@code max|w| / 127}.
+   *
+   * @param weights the weights of every layer, from the first hidden layer to the output layer
+   * @param sigmoid the evaluation of the activation function of every layer
+   * @return the quantised model
+   */
+  public static QuantizedModel quantize(List<DenseMatrix> weights, Sigmoid sigmoid) {
+
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("A network needs at least one layer");
+    }
+    int layers = weights.size();
+    var quantised = new byte[layers][];
+    var scales = new double[layers][];
+    int[] rows = new int[layers];
+    int[] cols = new int[layers];
+    for (int l = 0; l < layers; l++) {
+      var matrix = weights.get(l);
+      rows[l] = matrix.rows();
+      cols[l] = matrix.cols();
+      if (l > 0 && cols[l] != rows[l - 1]) {
+        throw new IllegalArgumentException(
+            String.format("Layer %s expects %s inputs but layer %s has %s outputs", l, cols[l],
+                          l - 1, rows[l - 1]));
+      }
+      quantised[l] = new byte[rows[l] * cols[l]];
+      scales[l] = new double[rows[l]];
+      double[] data = matrix.data();
+      for (int i = 0; i < rows[l]; i++) {
+        int row = matrix.index(i, 0);
+        double max = 0;
+        for (int j = 0; j < cols[l]; j++) {
+          max = Math.max(max, Math.abs(data[row + j]));
+        }
+        double scale = max / WEIGHT_LEVELS;
+        for (int j = 0; j < cols[l]; j++) {
+          quantised[l][i * cols[l] + j] = (byte) (max == 0 ? 0 : Math.round(data[row + j] / scale));
+        }
+        scales[l][i] = scale / INPUT_LEVELS;
+      }
+    }
+    return new QuantizedModel(quantised, scales, rows, cols, sigmoid);
+  }
+
+  public int inputSize() {
+
+    return cols[0];
+  }
+
+  public int outputSize() {
+
+    return rows[rows.length - 1];
+  }
+
+  /**
+   * The memory taken by the weights and scales.
+   *
+   * @return the size in bytes
+   */
+  public long bytes() {
+
+    long bytes = 0;
+    for (int l = 0; l < rows.length; l++) {
+      bytes += weights[l].length + (long) scales[l].length * Double.BYTES;
+    }
+    return bytes;
+  }
+
+  /**
+   * Assess the pixels of an image and writes the possibilities into out.
+   *
+   * @param pixels the pixels of the image between 0 and 255
+   * @param out    the array receiving the output nodes
+   * @return out
+   */
+  public double[] assess(byte[] pixels, double[] out) {
+
+    return sigmoid.apply(logits(pixels, out, scratch.get()));
+  }
+
+  /**
+   * Assess the pixels of an image and return the array of possibilities.
+   *
+   * @param pixels the pixels of the image between 0 and 255
+   * @return a new array with the output nodes
+   */
+  public double[] assess(byte[] pixels) {
+
+    return assess(pixels, new double[outputSize()]);
+  }
+
+  /**
+   * Assess normalised image data, see {@link NeuralNet#assess(double[])}. The values are rounded
+   * to 1/255 first.
+   *
+   * @param input the image data between 0 and 1
+   * @return a new array with the output nodes
+   */
+  public double[] assess(double[] input) {
+
+    var buffers = scratch.get();
+    if (input.length != inputSize()) {
+      throw new IllegalArgumentException(
+          String.format("Got %s instead of %s inputs", input.length, inputSize()));
+    }
+    for (int i = 0; i < input.length; i++) {
+      buffers.pixels[i] = (byte) Math.round(Math.min(1, Math.max(0, input[i])) * INPUT_LEVELS);
+    }
+    return assess(buffers.pixels, new double[outputSize()]);
+  }
+
+  /**
+   * Predicts the lable of an image. Since the sigmoid function is monotonic, the most likely output
+   * node is taken directly from the weighted sums of the output layer.
+   *
+   * @param pixels the pixels of the image between 0 and 255
+   * @return the predicted lable
+   */
+  public int classify(byte[] pixels) {
+
+    var buffers = scratch.get();
+    double[] out = logits(pixels, buffers.out, buffers);
+    int best = 0;
+    for (int i = 1; i < out.length; i++) {
+      best = out[i] > out[best] ? i : best;
+    }
+    return best;
+  }
+
+  /**
+   * Predicts the lable of an image of an IDX file, reading the pixels straight from the mapping.
+   *
+   * @param images the images
+   * @param item   the index of the image
+   * @return the predicted lable
+   */
+  public int classify(IdxFile images, int item) {
+
+    var buffers = scratch.get();
+    images.bytes(item, buffers.pixels, 0);
+    return classify(buffers.pixels);
+  }
+
+  /**
+   * Passes the image through the network and writes the dequantised weighted sums of the output
+   * layer into out.
+   */
+  private double[] logits(byte[] pixels, double[] out, Scratch buffers) {
+
+    if (pixels.length != inputSize() || out.length != outputSize()) {
+      throw new IllegalArgumentException(
+          String.format("Got %s inputs and %s outputs for a %sx%s network", pixels.length,
+                        out.length, inputSize(), outputSize()));
+    }
+    byte[] in = pixels;
+    int last = rows.length - 1;
+    for (int l = 0; l < last; l++) {
+      int[] sums = Matrix.mult(weights[l], rows[l], cols[l], in, buffers.sums[l]);
+      byte[] act = buffers.hidden[l];
+      for (int i = 0; i < sums.length; i++) {
+        act[i] = (byte) Math.round(sigmoid.apply(sums[i] * scales[l][i]) * INPUT_LEVELS);
+      }
+      in = act;
+    }
+    int[] sums = Matrix.mult(weights[last], rows[last], cols[last], in, buffers.sums[last]);
+    for (int i = 0; i < sums.length; i++) {
+      out[i] = sums[i] * scales[last][i];
+    }
+    return out;
+  }
+
+  /**
+   * Buffers of a single thread.
+   */
+  private static final class Scratch {
+
+    private final int[][] sums;
+    private final byte[][] hidden;
+    private final byte[] pixels;
+    private final double[] out;
+
+    private Scratch(QuantizedModel model) {
+
+      this.sums = new int[model.rows.length][];
+      this.hidden = new byte[model.rows.length - 1][];
+      for (int l = 0; l < model.rows.length; l++) {
+        sums[l] = new int[model.rows[l]];
+        if (l < hidden.length) {
+          hidden[l] = new byte[model.rows[l]];
+        }
+      }
+      this.pixels = new byte[model.inputSize()];
+      this.out = new double[model.outputSize()];
+    }
+  }
+
+}
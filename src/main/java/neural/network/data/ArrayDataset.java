@@ -0,0 +1,67 @@
+package neural.network.data;
+
+/**
+ * Data set held in memory, with the already normalised images stored one after another.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class ArrayDataset implements Dataset {
+
+  private final double[] images;
+  private final byte[] lables;
+  private final int imageSize;
+
+  /**
+   * Creates a data set of the given arrays without copying them.
+   *
+   * @param images    the normalised images one after another
+   * @param lables    the lables of the images
+   * @param imageSize the amount of pixels of a single image
+   */
+  public ArrayDataset(double[] images, byte[] lables, int imageSize) {
+
+    if (images.length != (long) lables.length * imageSize) {
+      throw new IllegalArgumentException(
+          String.format("Got %s pixels for %s images of size %s", images.length, lables.length,
+                        imageSize));
+    }
+    this.images = images;
+    this.lables = lables;
+    this.imageSize = imageSize;
+  }
+
+  @Override
+  public int size() {
+
+    return lables.length;
+  }
+
+  @Override
+  public int imageSize() {
+
+    return imageSize;
+  }
+
+  @Override
+  public short lable(int index) {
+
+    return lables[index];
+  }
+
+  @Override
+  public void image(int index, double[] dst, int offset) {
+
+    System.arraycopy(images, index * imageSize, dst, offset, imageSize);
+  }
+
+  @Override
+  public void image(int index, float[] dst, int offset) {
+
+    int from = index * imageSize;
+    for (int i = 0; i < imageSize; i++) {
+      dst[offset + i] = (float) images[from + i];
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+package neural.network.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.IntSupplier;
+import neural.network.linearalgebra.DenseMatrix;
+
+/**
+ * Streams mini-batches of a {@link Dataset} to a trainer. A background thread picks the indices
+ * of the next images, decodes and normalises them into a free slot of a ring of reusable batches
+ * and queues the slot, while the trainer works on the batch it took last. Since only the slots are
+ * held in memory, the set itself may be a mapped file larger than the heap.
+ *
+ * <p>A batch returned by {@link #next()} stays valid until the following call of {@link #next()},
+ * which hands it back to the decoding thread. The pipeline must be used by a single consumer.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class BatchPipeline implements AutoCloseable {
+
+  /**
+   * Marks the end of the stream after the decoding thread failed.
+   */
+  private static final Batch FAILED = new Batch(0, 0);
+  /**
+   * Marks the end of the stream after the pipeline was closed.
+   */
+  private static final Batch CLOSED = new Batch(0, 0);
+
+  private final Dataset set;
+  private final IntSupplier indices;
+  private final BlockingQueue<Batch> free;
+  private final BlockingQueue<Batch> full;
+  private final Thread worker;
+  private volatile Throwable failure;
+  private volatile boolean closed;
+  private Batch current;
+
+  /**
+   * Creates a pipeline with its own decoding thread, which starts filling the slots right away.
+   *
+   * @param set       the data set
+   * @param batchSize the amount of images per batch
+   * @param slots     the amount of batches held at once, at least two for the decoding to
+   *                  overlap with the training
+   * @param indices   the source of the indices of the images, called by the decoding thread only
+   */
+  public BatchPipeline(Dataset set, int batchSize, int slots, IntSupplier indices) {
+
+    if (batchSize < 1 || slots < 1) {
+      throw new IllegalArgumentException(
+          String.format("Invalid batch size %s or amount of slots %s", batchSize, slots));
+    }
+    this.set = set;
+    this.indices = indices;
+    this.free = new ArrayBlockingQueue<>(slots);
+    // two more places for the markers of a failure and of the end
+    this.full = new ArrayBlockingQueue<>(slots + 2);
+    for (int i = 0; i < slots; i++) {
+      free.add(new Batch(batchSize, set.imageSize()));
+    }
+    this.worker = new Thread(this::decode, "prefetch");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Takes the next decoded batch, waiting for the decoding thread if necessary. The previously
+   * taken batch is handed back to be filled again.
+   *
+   * @return the next batch
+   * @throws IllegalStateException if the decoding failed or the pipeline is closed
+   */
+  public Batch next() {
+
+    if (closed) {
+      throw new IllegalStateException("The pipeline is closed");
+    }
+    if (current != null) {
+      free.add(current);
+      current = null;
+    }
+    try {
+      var batch = full.take();
+      if (batch == FAILED) {
+        full.add(FAILED);
+        throw new IllegalStateException("Decoding of the batches failed", failure);
+      }
+      if (batch == CLOSED) {
+        full.add(CLOSED);
+        throw new IllegalStateException("The pipeline is closed");
+      }
+      current = batch;
+      return batch;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a batch", e);
+    }
+  }
+
+  /**
+   * Stops the decoding thread and waits for it to finish. A call of {@link #next()} waiting for a
+   * batch at the same time fails like every later call.
+   */
+  @Override
+  public void close() {
+
+    if (closed) {
+      return;
+    }
+    closed = true;
+    worker.interrupt();
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // wakes up a waiting consumer
+    full.add(CLOSED);
+  }
+
+  private void decode() {
+
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        var batch = free.take();
+        for (int b = 0; b < batch.lables.length; b++) {
+          int r = indices.getAsInt();
+          set.image(r, batch.images, b);
+          batch.lables[b] = set.lable(r);
+        }
+        full.put(batch);
+      }
+    } catch (InterruptedException e) {
+      // closed
+    } catch (RuntimeException | Error e) {
+      failure = e;
+      full.add(FAILED);
+    }
+  }
+
+  /**
+   * A slot of the pipeline, holding the images of a batch one per row and their lables.
+   */
+  public static final class Batch {
+
+    private final DenseMatrix images;
+    private final short[] lables;
+
+    private Batch(int size, int imageSize) {
+
+      this.images = new DenseMatrix(size, imageSize);
+      this.lables = new short[size];
+    }
+
+    public DenseMatrix images() {
+
+      return images;
+    }
+
+    public short[] lables() {
+
+      return lables;
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+package neural.network.data;
+
+import neural.network.linearalgebra.DenseMatrix;
+
+/**
+ * A set of lable images. The images are handed out normalised to values between 0 and 1.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public interface Dataset {
+
+  /**
+   * The amount of images in the set.
+   *
+   * @return the amount of images
+   */
+  int size();
+
+  /**
+   * The amount of pixels of a single image.
+   *
+   * @return the amount of pixels
+   */
+  int imageSize();
+
+  /**
+   * The lable of an image.
+   *
+   * @param index the index of the image
+   * @return the lable
+   */
+  short lable(int index);
+
+  /**
+   * Writes the normalised pixels of an image into dst.
+   *
+   * @param index  the index of the image
+   * @param dst    the array receiving the pixels
+   * @param offset the index of the first pixel in dst
+   */
+  void image(int index, double[] dst, int offset);
+
+  /**
+   * Writes the normalised pixels of an image into a float array.
+   *
+   * @param index  the index of the image
+   * @param dst    the array receiving the pixels
+   * @param offset the index of the first pixel in dst
+   */
+  void image(int index, float[] dst, int offset);
+
+  /**
+   * Writes the normalised pixels of an image into a row of a matrix.
+   *
+   * @param index the index of the image
+   * @param dst   the matrix receiving the pixels
+   * @param row   the row receiving the pixels
+   */
+  default void image(int index, DenseMatrix dst, int row) {
+
+    image(index, dst.data(), dst.index(row, 0));
+  }
+
+}
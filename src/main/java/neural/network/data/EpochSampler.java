@@ -0,0 +1,130 @@
+package neural.network.data;
+
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands out the indices of a data set in a new random order every epoch, so every image is seen
+ * exactly once per epoch. The order is a Fisher-Yates shuffle of a primitive index array that is
+ * reused for every epoch, drawing an index allocates nothing.
+ *
+ * <p>The order of an epoch only depends on the seed and the number of the epoch, runs with the
+ * same seed are therefore reproducible and a run can be continued at any step with
+ * {@link #seek(long)}. Several workers may split an epoch between each other by creating one
+ * sampler per shard with the same seed; shard k of n draws every n-th index of the epoch starting
+ * at the k-th.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class EpochSampler implements IntSupplier {
+
+  private final int[] order;
+  private final long seed;
+  private final int shard;
+  private final int shards;
+  private long epoch;
+  private int position;
+
+  /**
+   * Creates a sampler over all indices of a data set.
+   *
+   * @param size the amount of images in the data set
+   * @param seed the seed of the shuffles
+   */
+  public EpochSampler(int size, long seed) {
+
+    this(size, seed, 0, 1);
+  }
+
+  /**
+   * Creates a sampler over a shard of every epoch.
+   *
+   * @param size   the amount of images in the data set
+   * @param seed   the seed of the shuffles, the same for all shards
+   * @param shard  the index of the shard
+   * @param shards the amount of shards
+   */
+  public EpochSampler(int size, long seed, int shard, int shards) {
+
+    if (size < 1 || shards < 1 || shard < 0 || shard >= Math.min(shards, size)) {
+      throw new IllegalArgumentException(
+          String.format("Invalid shard %s of %s over %s images", shard, shards, size));
+    }
+    this.order = new int[size];
+    this.seed = seed;
+    this.shard = shard;
+    this.shards = shards;
+    shuffle(0);
+  }
+
+  /**
+   * The next index of the current epoch. Starts the next epoch once the shard is exhausted.
+   *
+   * @return the index of an image
+   */
+  @Override
+  public int getAsInt() {
+
+    if (position >= order.length) {
+      shuffle(epoch + 1);
+    }
+    int index = order[position];
+    position += shards;
+    return index;
+  }
+
+  /**
+   * The amount of indices this sampler draws per epoch.
+   *
+   * @return the size of the shard
+   */
+  public int epochSize() {
+
+    return (order.length - shard + shards - 1) / shards;
+  }
+
+  /**
+   * The epoch of the next index.
+   *
+   * @return the epoch, starting at 0
+   */
+  public long epoch() {
+
+    return position >= order.length ? epoch + 1 : epoch;
+  }
+
+  /**
+   * Continues the sampler as if {@code step} indices had been drawn since its creation.
+   *
+   * @param step the amount of indices already drawn
+   */
+  public void seek(long step) {
+
+    if (step < 0) {
+      throw new IllegalArgumentException("Invalid step " + step);
+    }
+    long target = step / epochSize();
+    if (target != epoch) {
+      shuffle(target);
+    }
+    position = shard + (int) (step % epochSize()) * shards;
+  }
+
+  private void shuffle(long epoch) {
+
+    var rand = new SplittableRandom(seed + epoch);
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    for (int i = order.length - 1; i > 0; i--) {
+      int j = rand.nextInt(i + 1);
+      int tmp = order[i];
+      order[i] = order[j];
+      order[j] = tmp;
+    }
+    this.epoch = epoch;
+    this.position = shard;
+  }
+
+}
@@ -0,0 +1,86 @@
+package neural.network.data;
+
+import java.nio.file.Path;
+
+/**
+ * Data set backed by a memory mapped IDX image file and the matching IDX lable file. The pixels
+ * are normalised when an image is read, so the set takes no heap memory besides the mapping.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class IdxDataset implements Dataset {
+
+  private final IdxFile images;
+  private final IdxFile lables;
+
+  /**
+   * Creates a data set of the given files.
+   *
+   * @param images the images
+   * @param lables the lables of the images
+   */
+  public IdxDataset(IdxFile images, IdxFile lables) {
+
+    if (images.count() != lables.count() || lables.itemSize() != 1) {
+      throw new IllegalArgumentException(
+          String.format("Got %s images but %s lables of size %s", images.count(),
+                        lables.count(), lables.itemSize()));
+    }
+    this.images = images;
+    this.lables = lables;
+  }
+
+  /**
+   * Maps the image and lable file into memory.
+   *
+   * @param images the path of the image file
+   * @param lables the path of the lable file
+   * @return the data set
+   */
+  public static IdxDataset open(Path images, Path lables) {
+
+    return new IdxDataset(IdxFile.open(images), IdxFile.open(lables));
+  }
+
+  public IdxFile images() {
+
+    return images;
+  }
+
+  public IdxFile lables() {
+
+    return lables;
+  }
+
+  @Override
+  public int size() {
+
+    return images.count();
+  }
+
+  @Override
+  public int imageSize() {
+
+    return images.itemSize();
+  }
+
+  @Override
+  public short lable(int index) {
+
+    return (short) lables.get(index, 0);
+  }
+
+  @Override
+  public void image(int index, double[] dst, int offset) {
+
+    images.normalize(index, dst, offset);
+  }
+
+  @Override
+  public void image(int index, float[] dst, int offset) {
+
+    images.normalize(index, dst, offset);
+  }
+
+}
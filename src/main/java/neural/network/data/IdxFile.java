@@ -0,0 +1,205 @@
+package neural.network.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory mapped file in the IDX format used by the MNIST data sets. The header is parsed on
+ * opening, the items are read straight from the mapped pages and are never copied onto the heap.
+ * Only files of unsigned bytes are supported.
+ *
+ * <p>The format is a big endian magic number {@code 0x0000TTDD}, where TT is the data type and DD
+ * the amount of dimensions, followed by one int per dimension and the data. The first dimension
+ * is the amount of items.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class IdxFile {
+
+  /**
+   * Data type code of unsigned bytes.
+   */
+  private static final int UNSIGNED_BYTE = 0x08;
+
+  private final MappedByteBuffer buffer;
+  private final int[] dimensions;
+  private final int dataOffset;
+  private final int itemSize;
+
+  private IdxFile(MappedByteBuffer buffer, int[] dimensions, int dataOffset) {
+
+    this.buffer = buffer;
+    this.dimensions = dimensions;
+    this.dataOffset = dataOffset;
+    int size = 1;
+    for (int i = 1; i < dimensions.length; i++) {
+      size = Math.multiplyExact(size, dimensions[i]);
+    }
+    this.itemSize = size;
+  }
+
+  /**
+   * Maps an IDX file into memory and parses its header. The channel is closed right away, the
+   * mapping stays valid until the file is garbage collected.
+   *
+   * @param path the path of the file
+   * @return the mapped file
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no IDX file of unsigned bytes, has an empty
+   *                                  dimension or is too short for its dimensions
+   */
+  public static IdxFile open(Path path) {
+
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      if (buffer.remaining() < 4 || buffer.get(0) != 0 || buffer.get(1) != 0) {
+        throw new IllegalArgumentException(path + " is not an IDX file");
+      }
+      if (buffer.get(2) != UNSIGNED_BYTE) {
+        throw new IllegalArgumentException(
+            String.format("Unsupported IDX data type 0x%02x in %s", buffer.get(2), path));
+      }
+      int dims = buffer.get(3) & 0xff;
+      int dataOffset = 4 + 4 * dims;
+      if (dims == 0 || buffer.remaining() < dataOffset) {
+        throw new IllegalArgumentException("Truncated IDX header in " + path);
+      }
+      int[] dimensions = new int[dims];
+      long available = buffer.remaining() - dataOffset;
+      long expected = 1;
+      for (int i = 0; i < dims; i++) {
+        dimensions[i] = buffer.getInt(4 + 4 * i);
+        if (dimensions[i] < 1) {
+          throw new IllegalArgumentException(
+              String.format("Dimension %s of %s is %s, expected at least 1", i, path,
+                            dimensions[i]));
+        }
+        // stops once the data can not fit, before the product overflows
+        expected *= dimensions[i];
+        if (expected > available) {
+          throw new IllegalArgumentException(
+              String.format("%s holds %s bytes of data, expected at least %s", path, available,
+                            expected));
+        }
+      }
+      return new IdxFile(buffer, dimensions, dataOffset);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The dimensions of the file, the first being the amount of items.
+   *
+   * @return a copy of the dimensions
+   */
+  public int[] dimensions() {
+
+    return Arrays.copyOf(dimensions, dimensions.length);
+  }
+
+  /**
+   * The amount of items in the file.
+   *
+   * @return the first dimension
+   */
+  public int count() {
+
+    return dimensions[0];
+  }
+
+  /**
+   * The amount of values of a single item, e.g. 28 * 28 for an MNIST image and 1 for a lable.
+   *
+   * @return the product of all but the first dimension
+   */
+  public int itemSize() {
+
+    return itemSize;
+  }
+
+  /**
+   * Reads a single unsigned value of an item.
+   *
+   * @param item  the index of the item
+   * @param index the index of the value within the item
+   * @return the value between 0 and 255
+   */
+  public int get(int item, int index) {
+
+    return buffer.get(position(item) + index) & 0xff;
+  }
+
+  /**
+   * A read only view of the bytes of an item. The view shares the mapped memory of the file.
+   *
+   * @param item the index of the item
+   * @return the bytes of the item
+   */
+  public ByteBuffer item(int item) {
+
+    return buffer.slice(position(item), itemSize).asReadOnlyBuffer();
+  }
+
+  /**
+   * Copies the raw unsigned bytes of an item into dst, e.g. the pixels of an image for
+   * {@link neural.network.QuantizedModel}.
+   *
+   * @param item   the index of the item
+   * @param dst    the array receiving the bytes
+   * @param offset the index of the first byte in dst
+   */
+  public void bytes(int item, byte[] dst, int offset) {
+
+    buffer.get(position(item), dst, offset, itemSize);
+  }
+
+  /**
+   * Writes an item normalised to values between 0 and 1 into dst.
+   *
+   * @param item   the index of the item
+   * @param dst    the array receiving the values
+   * @param offset the index of the first value in dst
+   */
+  public void normalize(int item, double[] dst, int offset) {
+
+    int pos = position(item);
+    for (int i = 0; i < itemSize; i++) {
+      dst[offset + i] = (buffer.get(pos + i) & 0xff) / 255.;
+    }
+  }
+
+  /**
+   * Writes an item normalised to values between 0 and 1 into a float array.
+   *
+   * @param item   the index of the item
+   * @param dst    the array receiving the values
+   * @param offset the index of the first value in dst
+   */
+  public void normalize(int item, float[] dst, int offset) {
+
+    int pos = position(item);
+    for (int i = 0; i < itemSize; i++) {
+      dst[offset + i] = (buffer.get(pos + i) & 0xff) / 255f;
+    }
+  }
+
+  private int position(int item) {
+
+    if (item < 0 || item >= dimensions[0]) {
+      throw new IndexOutOfBoundsException(
+          String.format("Item %s out of bounds for %s items", item, dimensions[0]));
+    }
+    return dataOffset + item * itemSize;
+  }
+
+}
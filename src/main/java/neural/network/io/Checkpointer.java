@@ -0,0 +1,349 @@
+package neural.network.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.FloatMatrix;
+
+/**
+ * Writes checkpoints of a running training in the background. Every N steps or T milliseconds,
+ * whichever comes first, the weights are copied into one of two snapshot buffers and handed to a
+ * writer thread, so the training only pays for the copy. While a snapshot is written the next one
+ * is taken into the other buffer; if both are still busy the checkpoint is skipped instead of
+ * stalling the training.
+ *
+ * <p>A checkpoint is a {@link ModelFile} followed by a trailer with the amount of steps done and
+ * the seed of the run, which is all a trainer needs to continue the run where it stopped, see
+ * {@link neural.network.data.EpochSampler#seek(long)}. It is written to a temporary file first and
+ * then renamed over the previous checkpoint, so a crash never leaves a half written file
+ * behind.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class Checkpointer implements AutoCloseable {
+
+  /**
+   * The bytes "NNCK" read as a little endian int.
+   */
+  private static final int TRAILER_MAGIC = 0x4B434E4E;
+  private static final int TRAILER_SIZE = Integer.BYTES + 2 * Long.BYTES;
+
+  private final Path path;
+  private final long everySteps;
+  private final long everyNanos;
+  private final ExecutorService writer;
+  private final Snapshot[] snapshots = { new Snapshot(), new Snapshot() };
+  private int next;
+  private long lastStep;
+  private long lastNanos;
+  private volatile RuntimeException failure;
+
+  /**
+   * Creates a checkpointer with its own writer thread.
+   *
+   * @param path        the path of the checkpoint
+   * @param everySteps  the amount of steps between two checkpoints
+   * @param everyMillis the time between two checkpoints
+   * @param startStep   the step the training starts at
+   */
+  public Checkpointer(Path path, long everySteps, long everyMillis, long startStep) {
+
+    if (everySteps < 1 || everyMillis < 1) {
+      throw new IllegalArgumentException(
+          String.format("Invalid checkpoint interval of %s steps or %s ms", everySteps,
+                        everyMillis));
+    }
+    this.path = path;
+    this.everySteps = everySteps;
+    this.everyNanos = TimeUnit.MILLISECONDS.toNanos(everyMillis);
+    this.lastStep = startStep;
+    this.lastNanos = System.nanoTime();
+    this.writer = Executors.newSingleThreadExecutor(r -> {
+      var thread = new Thread(r, "checkpoint");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Takes a checkpoint if one is due. Must be called from the training thread between two
+   * corrections of the weights.
+   *
+   * @param step    the amount of steps done
+   * @param seed    the seed of the run
+   * @param weights the weights of every layer
+   * @return whether a checkpoint was taken
+   * @throws IllegalStateException if writing a previous checkpoint failed
+   */
+  public boolean step(long step, long seed, List<DenseMatrix> weights) {
+
+    var snapshot = due(step);
+    if (snapshot == null) {
+      return false;
+    }
+    snapshot.take(step, seed, weights);
+    writer.execute(() -> write(snapshot));
+    return true;
+  }
+
+  /**
+   * Takes a checkpoint of float weights if one is due, see {@link #step(long, long, List)}. The
+   * checkpoint is a model file of the type {@link ModelFile.DataType#FLOAT32}.
+   *
+   * @param step    the amount of steps done
+   * @param seed    the seed of the run
+   * @param weights the weights of every layer
+   * @return whether a checkpoint was taken
+   * @throws IllegalStateException if writing a previous checkpoint failed
+   */
+  public boolean stepFloat(long step, long seed, List<FloatMatrix> weights) {
+
+    var snapshot = due(step);
+    if (snapshot == null) {
+      return false;
+    }
+    snapshot.takeFloat(step, seed, weights);
+    writer.execute(() -> write(snapshot));
+    return true;
+  }
+
+  /**
+   * Writes a checkpoint right away, after any pending checkpoints, and waits for it.
+   *
+   * @param step    the amount of steps done
+   * @param seed    the seed of the run
+   * @param weights the weights of every layer
+   * @throws UncheckedIOException if the checkpoint can not be written
+   */
+  public void save(long step, long seed, List<DenseMatrix> weights) {
+
+    await(writer.submit(() -> write(path, step, seed, out -> ModelFile.write(out, weights))));
+  }
+
+  /**
+   * Writes a checkpoint of float weights right away and waits for it, see
+   * {@link #save(long, long, List)}.
+   *
+   * @param step    the amount of steps done
+   * @param seed    the seed of the run
+   * @param weights the weights of every layer
+   * @throws UncheckedIOException if the checkpoint can not be written
+   */
+  public void saveFloat(long step, long seed, List<FloatMatrix> weights) {
+
+    await(writer.submit(() -> write(path, step, seed, out -> ModelFile.writeFloat(out, weights))));
+  }
+
+  /**
+   * Waits for pending checkpoints to be written and stops the writer thread.
+   *
+   * @throws IllegalStateException if writing a checkpoint failed
+   */
+  @Override
+  public void close() {
+
+    writer.shutdown();
+    try {
+      writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure != null) {
+      throw new IllegalStateException("Writing the checkpoint failed", failure);
+    }
+  }
+
+  /**
+   * Reads a checkpoint. Float weights are widened to doubles, see {@link ModelFile#read(Path)}.
+   *
+   * @param path the path of the checkpoint
+   * @return the checkpoint
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no valid checkpoint
+   */
+  public static Checkpoint read(Path path) {
+
+    var weights = ModelFile.read(path);
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var trailer = ByteBuffer.allocate(TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      channel.position(channel.size() - TRAILER_SIZE);
+      while (trailer.hasRemaining() && channel.read(trailer) >= 0) {
+        // read the whole trailer
+      }
+      if (trailer.getInt(0) != TRAILER_MAGIC) {
+        throw new IllegalArgumentException(path + " is a model file but no checkpoint");
+      }
+      return new Checkpoint(weights, trailer.getLong(4), trailer.getLong(12));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void await(Future<?> future) {
+
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while writing the checkpoint", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Writing the checkpoint failed", e.getCause());
+    }
+  }
+
+  /**
+   * The free snapshot buffer if a checkpoint is due.
+   */
+  private Snapshot due(long step) {
+
+    if (failure != null) {
+      throw new IllegalStateException("Writing the checkpoint failed", failure);
+    }
+    long now = System.nanoTime();
+    if (step - lastStep < everySteps && now - lastNanos < everyNanos) {
+      return null;
+    }
+    var snapshot = snapshots[next];
+    if (!snapshot.busy.compareAndSet(false, true)) {
+      return null;
+    }
+    next ^= 1;
+    lastStep = step;
+    lastNanos = now;
+    return snapshot;
+  }
+
+  private void write(Snapshot snapshot) {
+
+    try {
+      write(path, snapshot.step, snapshot.seed, snapshot::write);
+    } catch (RuntimeException e) {
+      failure = e;
+    } finally {
+      snapshot.busy.set(false);
+    }
+  }
+
+  /**
+   * Writes the model file with the given writer followed by the trailer into a temporary file,
+   * which is forced once and moved over the checkpoint.
+   */
+  private static void write(Path path, long step, long seed, ModelFile.FileWriter model) {
+
+    if (path.getParent() != null) {
+      try {
+        Files.createDirectories(path.getParent());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    var trailer = ByteBuffer.allocate(TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    trailer.putInt(TRAILER_MAGIC).putLong(step).putLong(seed).flip();
+    ModelFile.write(path, channel -> {
+      model.write(channel);
+      while (trailer.hasRemaining()) {
+        channel.write(trailer);
+      }
+    });
+  }
+
+  /**
+   * The state of a training run.
+   *
+   * @param weights the weights of every layer
+   * @param step    the amount of steps done
+   * @param seed    the seed of the run
+   */
+  public record Checkpoint(List<DenseMatrix> weights, long step, long seed) {
+
+  }
+
+  /**
+   * Buffer holding a copy of the weights until it is written. Holds either double or float
+   * weights, depending on the last take.
+   */
+  private static final class Snapshot {
+
+    private final AtomicBoolean busy = new AtomicBoolean();
+    private final List<DenseMatrix> weights = new ArrayList<>();
+    private final List<FloatMatrix> floatWeights = new ArrayList<>();
+    private boolean floats;
+    private long step;
+    private long seed;
+
+    private void write(FileChannel channel) throws IOException {
+
+      if (floats) {
+        ModelFile.writeFloat(channel, floatWeights);
+      } else {
+        ModelFile.write(channel, weights);
+      }
+    }
+
+    private void takeFloat(long step, long seed, List<FloatMatrix> src) {
+
+      if (floatWeights.size() != src.size()) {
+        floatWeights.clear();
+        for (FloatMatrix matrix : src) {
+          floatWeights.add(new FloatMatrix(matrix.rows(), matrix.cols()));
+        }
+      }
+      for (int l = 0; l < src.size(); l++) {
+        var matrix = src.get(l);
+        var copy = floatWeights.get(l);
+        if (copy.rows() != matrix.rows() || copy.cols() != matrix.cols()) {
+          copy = new FloatMatrix(matrix.rows(), matrix.cols());
+          floatWeights.set(l, copy);
+        }
+        System.arraycopy(matrix.data(), 0, copy.data(), 0, matrix.data().length);
+      }
+      this.floats = true;
+      this.step = step;
+      this.seed = seed;
+    }
+
+    private void take(long step, long seed, List<DenseMatrix> src) {
+
+      if (weights.size() != src.size()) {
+        weights.clear();
+        for (DenseMatrix matrix : src) {
+          weights.add(new DenseMatrix(matrix.rows(), matrix.cols()));
+        }
+      }
+      for (int l = 0; l < src.size(); l++) {
+        var matrix = src.get(l);
+        var copy = weights.get(l);
+        if (copy.rows() != matrix.rows() || copy.cols() != matrix.cols()) {
+          copy = new DenseMatrix(matrix.rows(), matrix.cols());
+          weights.set(l, copy);
+        }
+        for (int i = 0; i < matrix.rows(); i++) {
+          System.arraycopy(matrix.data(), matrix.index(i, 0), copy.data(), copy.index(i, 0),
+                           matrix.cols());
+        }
+      }
+      this.floats = false;
+      this.step = step;
+      this.seed = seed;
+    }
+  }
+
+}
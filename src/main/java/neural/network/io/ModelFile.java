@@ -0,0 +1,614 @@
+package neural.network.io;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.FloatMatrix;
+
+/**
+ * Binary file format of the weights of a network. All values are little endian.
+ *
+ * <pre>
+ *  offset  size  content
+ *       0     4  magic "NNWB"
+ *       4     2  version
+ *       6     1  data type of the values, see {@link DataType}
+ *       7     1  reserved, 0
+ *       8     4  amount of layers n
+ *      12     4  CRC32 of the payload
+ *      16    8n  rows and columns of every layer
+ *            0-4 padding to a multiple of 8
+ *               payload, the weights of every layer in row-major order
+ * </pre>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class ModelFile {
+
+  /**
+   * The bytes "NNWB" read as a little endian int.
+   */
+  static final int MAGIC = 0x42574E4E;
+  static final short VERSION = 1;
+  private static final int FIXED_HEADER = 16;
+  private static final int CHUNK = 1 << 16;
+
+  private ModelFile() {
+
+  }
+
+  /**
+   * Writes the weights to a file, replacing it atomically if it exists.
+   *
+   * @param path   the path of the file
+   * @param layers the weights of every layer
+   * @throws UncheckedIOException if the file can not be written
+   */
+  public static void write(Path path, List<DenseMatrix> layers) {
+
+    write(path, channel -> write(channel, layers));
+  }
+
+  /**
+   * Writes the weights to the start of an open file, see {@link #write(Path, List)}. Leaves the
+   * channel positioned at the end of the model and neither forces nor closes it.
+   *
+   * @param channel the channel of an empty file
+   * @param layers  the weights of every layer
+   * @throws IOException if the file can not be written
+   */
+  static void write(FileChannel channel, List<DenseMatrix> layers) throws IOException {
+
+    int[] rows = new int[layers.size()];
+    int[] cols = new int[layers.size()];
+    for (int l = 0; l < layers.size(); l++) {
+      rows[l] = layers.get(l).rows();
+      cols[l] = layers.get(l).cols();
+    }
+    write(channel, new Header(DataType.FLOAT64, rows, cols, 0), payload -> {
+      for (DenseMatrix layer : layers) {
+        double[] data = layer.data();
+        for (int i = 0; i < layer.rows(); i++) {
+          int from = layer.index(i, 0);
+          for (int j = 0; j < layer.cols(); j++) {
+            payload.putDouble(data[from + j]);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Writes float weights to a file of the type {@link DataType#FLOAT32}, replacing it atomically
+   * if it exists.
+   *
+   * @param path   the path of the file
+   * @param layers the weights of every layer
+   * @throws UncheckedIOException if the file can not be written
+   */
+  public static void writeFloat(Path path, List<FloatMatrix> layers) {
+
+    write(path, channel -> writeFloat(channel, layers));
+  }
+
+  /**
+   * Writes float weights to the start of an open file, see {@link #writeFloat(Path, List)}.
+   * Leaves the channel positioned at the end of the model and neither forces nor closes it.
+   *
+   * @param channel the channel of an empty file
+   * @param layers  the weights of every layer
+   * @throws IOException if the file can not be written
+   */
+  static void writeFloat(FileChannel channel, List<FloatMatrix> layers) throws IOException {
+
+    int[] rows = new int[layers.size()];
+    int[] cols = new int[layers.size()];
+    for (int l = 0; l < layers.size(); l++) {
+      rows[l] = layers.get(l).rows();
+      cols[l] = layers.get(l).cols();
+    }
+    write(channel, new Header(DataType.FLOAT32, rows, cols, 0), payload -> {
+      for (FloatMatrix layer : layers) {
+        for (float value : layer.data()) {
+          payload.putFloat(value);
+        }
+      }
+    });
+  }
+
+  /**
+   * Writes the file with the given writer into a temporary sibling and moves it over the target
+   * once it is complete and on disk. Readers of the old file, e.g. a {@code MappedModel} of another
+   * process, keep their pages, and a crash never leaves a truncated model behind.
+   *
+   * @param path   the path of the file
+   * @param writer writes the content to the channel of the temporary file
+   * @throws UncheckedIOException if the file can not be written
+   */
+  static void write(Path path, FileWriter writer) {
+
+    var tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      try (var channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                                          StandardOpenOption.WRITE,
+                                          StandardOpenOption.TRUNCATE_EXISTING)) {
+        writer.write(channel);
+        channel.force(true);
+      }
+      Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      try {
+        Files.deleteIfExists(tmp);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void write(FileChannel channel, Header header, PayloadWriter writer)
+      throws IOException {
+
+    // the payload first, the header with the checksum is written last
+    channel.position(header.payloadOffset());
+    var payload = new Payload(channel);
+    writer.write(payload);
+    payload.flush();
+    long end = channel.position();
+
+    var head = header.withCrc((int) payload.crc.getValue()).encode();
+    channel.position(0);
+    while (head.hasRemaining()) {
+      channel.write(head);
+    }
+    channel.position(end);
+  }
+
+  /**
+   * Reads the weights of a file. Float weights are widened to doubles.
+   *
+   * @param path the path of the file
+   * @return the weights of every layer
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no valid model file
+   */
+  public static List<DenseMatrix> read(Path path) {
+
+    var buff = readFully(path);
+    var header = Header.decode(buff);
+    var payload = header.payload(buff);
+    header.verify(payload);
+
+    List<DenseMatrix> layers = new ArrayList<>(header.layers());
+    if (header.type() == DataType.FLOAT32) {
+      var values = payload.asFloatBuffer();
+      for (int l = 0; l < header.layers(); l++) {
+        double[] data = new double[header.rows(l) * header.cols(l)];
+        for (int i = 0; i < data.length; i++) {
+          data[i] = values.get();
+        }
+        layers.add(new DenseMatrix(header.rows(l), header.cols(l), data));
+      }
+    } else {
+      var values = payload.asDoubleBuffer();
+      for (int l = 0; l < header.layers(); l++) {
+        var layer = new DenseMatrix(header.rows(l), header.cols(l));
+        values.get(layer.data());
+        layers.add(layer);
+      }
+    }
+    return layers;
+  }
+
+  /**
+   * Reads the weights of a file as floats. Double weights are rounded to the nearest floats.
+   *
+   * @param path the path of the file
+   * @return the weights of every layer
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no valid model file
+   */
+  public static List<FloatMatrix> readFloat(Path path) {
+
+    var buff = readFully(path);
+    var header = Header.decode(buff);
+    var payload = header.payload(buff);
+    header.verify(payload);
+
+    List<FloatMatrix> layers = new ArrayList<>(header.layers());
+    if (header.type() == DataType.FLOAT32) {
+      var values = payload.asFloatBuffer();
+      for (int l = 0; l < header.layers(); l++) {
+        var layer = new FloatMatrix(header.rows(l), header.cols(l));
+        values.get(layer.data());
+        layers.add(layer);
+      }
+    } else {
+      var values = payload.asDoubleBuffer();
+      for (int l = 0; l < header.layers(); l++) {
+        var layer = new FloatMatrix(header.rows(l), header.cols(l));
+        float[] data = layer.data();
+        for (int i = 0; i < data.length; i++) {
+          data[i] = (float) values.get();
+        }
+        layers.add(layer);
+      }
+    }
+    return layers;
+  }
+
+  /**
+   * Reads the type of the values of a file without reading the weights.
+   *
+   * @param path the path of the file
+   * @return the type of the values
+   * @throws UncheckedIOException if the file can not be read
+   * @throws IllegalArgumentException if the file is no valid model file
+   */
+  public static DataType type(Path path) {
+
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var buff = ByteBuffer.allocate(FIXED_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+      while (buff.hasRemaining() && channel.read(buff) >= 0) {
+        // read the fixed part of the header
+      }
+      if (buff.position() < FIXED_HEADER || buff.getInt(0) != MAGIC) {
+        throw new IllegalArgumentException(path + " is not a model file");
+      }
+      return DataType.of(buff.get(6));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ByteBuffer readFully(Path path) {
+
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(path + " is too large for a model file");
+      }
+      var buff = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+      while (buff.hasRemaining() && channel.read(buff) >= 0) {
+        // read the whole file
+      }
+      return buff.flip();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Converts the JSON weight files written by earlier versions, one {@code double[][]} per layer,
+   * into a single model file.
+   *
+   * @param out  the path of the model file
+   * @param json the paths of the JSON files in the order of the layers
+   * @throws UncheckedIOException if a file can not be read or written
+   */
+  public static void convertJson(Path out, List<Path> json) {
+
+    var gson = new Gson();
+    List<DenseMatrix> layers = new ArrayList<>(json.size());
+    for (Path path : json) {
+      try (var reader = Files.newBufferedReader(path)) {
+        layers.add(DenseMatrix.of(gson.fromJson(reader, double[][].class)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    write(out, layers);
+  }
+
+  /**
+   * Writes the content of a file to its channel.
+   */
+  @FunctionalInterface
+  interface FileWriter {
+
+    void write(FileChannel channel) throws IOException;
+  }
+
+  /**
+   * Writes the values of the payload in the order of the layers.
+   */
+  @FunctionalInterface
+  private interface PayloadWriter {
+
+    void write(Payload payload) throws IOException;
+  }
+
+  /**
+   * Buffers the values of the payload and updates the checksum whenever the buffer is written.
+   */
+  private static final class Payload {
+
+    private final ByteBuffer buff = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private final FileChannel channel;
+
+    private Payload(FileChannel channel) {
+
+      this.channel = channel;
+    }
+
+    private void putDouble(double value) throws IOException {
+
+      if (buff.remaining() < Double.BYTES) {
+        flush();
+      }
+      buff.putDouble(value);
+    }
+
+    private void putFloat(float value) throws IOException {
+
+      if (buff.remaining() < Float.BYTES) {
+        flush();
+      }
+      buff.putFloat(value);
+    }
+
+    private void flush() throws IOException {
+
+      buff.flip();
+      crc.update(buff.duplicate());
+      while (buff.hasRemaining()) {
+        channel.write(buff);
+      }
+      buff.clear();
+    }
+  }
+
+  /**
+   * Type of the stored values.
+   */
+  public enum DataType {
+
+    FLOAT64(1, Double.BYTES),
+    FLOAT32(2, Float.BYTES);
+
+    private final int code;
+    private final int bytes;
+
+    DataType(int code, int bytes) {
+
+      this.code = code;
+      this.bytes = bytes;
+    }
+
+    public int bytes() {
+
+      return bytes;
+    }
+
+    static DataType of(int code) {
+
+      for (DataType type : values()) {
+        if (type.code == code) {
+          return type;
+        }
+      }
+      throw new IllegalArgumentException("Unknown data type " + code);
+    }
+  }
+
+  /**
+   * The header of a model file. The shapes are copied in and out, so a header can not be changed
+   * after it was created, and two headers are equal if their shapes are.
+   *
+   * @param type the type of the values
+   * @param rows the amount of rows of every layer
+   * @param cols the amount of columns of every layer
+   * @param crc  the CRC32 of the payload
+   */
+  public record Header(DataType type, int[] rows, int[] cols, int crc) {
+
+    /**
+     * Copies the shapes.
+     *
+     * @throws IllegalArgumentException if rows and columns differ in length
+     */
+    public Header {
+
+      if (rows.length != cols.length) {
+        throw new IllegalArgumentException(
+            String.format("%s rows but %s columns of layers", rows.length, cols.length));
+      }
+      rows = rows.clone();
+      cols = cols.clone();
+    }
+
+    /**
+     * Parses the header at the start of the buffer.
+     *
+     * @param buff the content of a model file in little endian order
+     * @return the header
+     * @throws IllegalArgumentException if the buffer holds no valid header
+     */
+    public static Header decode(ByteBuffer buff) {
+
+      if (buff.limit() < FIXED_HEADER || buff.getInt(0) != MAGIC) {
+        throw new IllegalArgumentException("Not a model file");
+      }
+      if (buff.getShort(4) != VERSION) {
+        throw new IllegalArgumentException("Unsupported model file version " + buff.getShort(4));
+      }
+      var type = DataType.of(buff.get(6));
+      int layers = buff.getInt(8);
+      if (layers < 0 || buff.limit() < FIXED_HEADER + 8L * layers) {
+        throw new IllegalArgumentException("Truncated model file header");
+      }
+      int[] rows = new int[layers];
+      int[] cols = new int[layers];
+      for (int l = 0; l < layers; l++) {
+        rows[l] = buff.getInt(FIXED_HEADER + 8 * l);
+        cols[l] = buff.getInt(FIXED_HEADER + 8 * l + 4);
+        if (rows[l] < 0 || cols[l] < 0) {
+          throw new IllegalArgumentException(
+              String.format("Invalid shape %sx%s of layer %s", rows[l], cols[l], l));
+        }
+      }
+      return new Header(type, rows, cols, buff.getInt(12));
+    }
+
+    /**
+     * Encodes the header including the padding up to the payload.
+     *
+     * @return a buffer ready to be written
+     */
+    ByteBuffer encode() {
+
+      var buff = ByteBuffer.allocate(payloadOffset()).order(ByteOrder.LITTLE_ENDIAN);
+      buff.putInt(MAGIC).putShort(VERSION).put((byte) type.code).put((byte) 0);
+      buff.putInt(layers()).putInt(crc);
+      for (int l = 0; l < layers(); l++) {
+        buff.putInt(rows[l]).putInt(cols[l]);
+      }
+      return buff.clear();
+    }
+
+    Header withCrc(int crc) {
+
+      return new Header(type, rows, cols, crc);
+    }
+
+    public int layers() {
+
+      return rows.length;
+    }
+
+    /**
+     * The amount of rows of every layer.
+     *
+     * @return a copy of the rows
+     */
+    @Override
+    public int[] rows() {
+
+      return rows.clone();
+    }
+
+    /**
+     * The amount of columns of every layer.
+     *
+     * @return a copy of the columns
+     */
+    @Override
+    public int[] cols() {
+
+      return cols.clone();
+    }
+
+    /**
+     * The amount of rows of a layer.
+     *
+     * @param layer the index of the layer
+     * @return the rows of the layer
+     */
+    public int rows(int layer) {
+
+      return rows[layer];
+    }
+
+    /**
+     * The amount of columns of a layer.
+     *
+     * @param layer the index of the layer
+     * @return the columns of the layer
+     */
+    public int cols(int layer) {
+
+      return cols[layer];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      return o instanceof Header other && type == other.type && crc == other.crc
+             && Arrays.equals(rows, other.rows) && Arrays.equals(cols, other.cols);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return Objects.hash(type, Arrays.hashCode(rows), Arrays.hashCode(cols), crc);
+    }
+
+    @Override
+    public String toString() {
+
+      return String.format("Header[type=%s, rows=%s, cols=%s, crc=%s]", type,
+                           Arrays.toString(rows), Arrays.toString(cols), crc);
+    }
+
+    /**
+     * The offset of the payload, a multiple of 8 so every value is aligned.
+     *
+     * @return the offset in bytes
+     */
+    public int payloadOffset() {
+
+      return (FIXED_HEADER + 8 * layers() + 7) & ~7;
+    }
+
+    /**
+     * The size of the payload.
+     *
+     * @return the size in bytes
+     */
+    public long payloadSize() {
+
+      long values = 0;
+      for (int l = 0; l < layers(); l++) {
+        values += (long) rows[l] * cols[l];
+      }
+      return values * type.bytes();
+    }
+
+    /**
+     * A little endian view of the payload of a model file.
+     *
+     * @param buff the content of the file
+     * @return the payload
+     * @throws IllegalArgumentException if the payload is truncated
+     */
+    public ByteBuffer payload(ByteBuffer buff) {
+
+      if (buff.limit() - payloadOffset() < payloadSize()) {
+        throw new IllegalArgumentException(
+            String.format("Model file holds %s bytes of weights, expected %s",
+                          buff.limit() - payloadOffset(), payloadSize()));
+      }
+      return buff.slice(payloadOffset(), (int) payloadSize()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Checks the payload against the checksum of the header.
+     *
+     * @param payload the payload
+     * @throws IllegalArgumentException if the checksum does not match
+     */
+    public void verify(ByteBuffer payload) {
+
+      var crc32 = new CRC32();
+      crc32.update(payload.duplicate());
+      if ((int) crc32.getValue() != crc) {
+        throw new IllegalArgumentException("Checksum mismatch, the model file is corrupt");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+package neural.network.linearalgebra;
+
+import neural.network.linearalgebra.exception.IllegalMathOperationException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Dense row-major matrix backed by a single contiguous array. Element (i, j) is stored at
+ * {@code data[offset + i * stride + j]}, which keeps every row of a weight matrix next to each
+ * other in memory instead of scattering them over separate row objects like {@code double[][]}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class DenseMatrix {
+
+  private final double[] data;
+  private final int rows;
+  private final int cols;
+  private final int stride;
+  private final int offset;
+
+  /**
+   * Creates a new zero filled matrix of the size rows x cols.
+   *
+   * @param rows amount of rows
+   * @param cols amount of columns
+   */
+  public DenseMatrix(int rows, int cols) {
+
+    this(rows, cols, new double[rows * cols]);
+  }
+
+  /**
+   * Wraps an existing array as a matrix of the size rows x cols without copying it.
+   *
+   * @param rows amount of rows
+   * @param cols amount of columns
+   * @param data the backing array in row-major order
+   */
+  public DenseMatrix(int rows, int cols, double[] data) {
+
+    this(rows, cols, cols, 0, data);
+  }
+
+  /**
+   * Wraps a region of an existing array as a matrix. The rows of the matrix start {@code stride}
+   * elements apart from each other, beginning at {@code offset}.
+   *
+   * @param rows   amount of rows
+   * @param cols   amount of columns
+   * @param stride distance between the start of two consecutive rows
+   * @param offset index of the first element
+   * @param data   the backing array
+   */
+  public DenseMatrix(int rows, int cols, int stride, int offset, double[] data) {
+
+    if (rows < 0 || cols < 0 || stride < cols) {
+      throw new IllegalMathOperationException("Invalid matrix layout %sx%s with stride %s",
+                                              rows, cols, stride);
+    }
+    if (rows > 0 && offset + (long) (rows - 1) * stride + cols > data.length) {
+      throw new IllegalMathOperationException("Backing array of length %s too small for %sx%s",
+                                              data.length, rows, cols);
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.stride = stride;
+    this.offset = offset;
+    this.data = data;
+  }
+
+  /**
+   * Copies a jagged array into a new dense matrix.
+   *
+   * @param arr the jagged array, all rows must be of the same length
+   * @return a new dense matrix with the values of the array
+   */
+  public static DenseMatrix of(@NotNull double[][] arr) {
+
+    int cols = arr.length == 0 ? 0 : arr[0].length;
+    var matrix = new DenseMatrix(arr.length, cols);
+    for (int i = 0; i < arr.length; i++) {
+      if (arr[i].length != cols) {
+        throw new IllegalMathOperationException("Row %s has %s instead of %s columns",
+                                                i, arr[i].length, cols);
+      }
+      System.arraycopy(arr[i], 0, matrix.data, i * cols, cols);
+    }
+    return matrix;
+  }
+
+  /**
+   * Copies the matrix into a new jagged array.
+   *
+   * @return the values of this matrix as {@code double[rows][cols]}
+   */
+  public double[][] toArray() {
+
+    double[][] arr = new double[rows][cols];
+    for (int i = 0; i < rows; i++) {
+      System.arraycopy(data, offset + i * stride, arr[i], 0, cols);
+    }
+    return arr;
+  }
+
+  /**
+   * Creates a compact copy of the matrix.
+   *
+   * @return a new matrix with its own backing array
+   */
+  public DenseMatrix copy() {
+
+    var matrix = new DenseMatrix(rows, cols);
+    for (int i = 0; i < rows; i++) {
+      System.arraycopy(data, offset + i * stride, matrix.data, i * cols, cols);
+    }
+    return matrix;
+  }
+
+  /**
+   * A view of consecutive rows of this matrix. The view shares the backing array with this matrix.
+   *
+   * @param fromRow  the first row of the view
+   * @param rowCount the amount of rows of the view
+   * @return the view
+   */
+  public DenseMatrix view(int fromRow, int rowCount) {
+
+    if (fromRow < 0 || rowCount < 0 || fromRow + rowCount > rows) {
+      throw new IllegalMathOperationException("Rows %s to %s out of bounds for %s rows",
+                                              fromRow, fromRow + rowCount, rows);
+    }
+    return new DenseMatrix(rowCount, cols, stride, offset + fromRow * stride, data);
+  }
+
+  public int rows() {
+
+    return rows;
+  }
+
+  public int cols() {
+
+    return cols;
+  }
+
+  public int stride() {
+
+    return stride;
+  }
+
+  public int offset() {
+
+    return offset;
+  }
+
+  /**
+   * The backing array. Changes to the array are visible in the matrix and vice versa.
+   *
+   * @return the backing array
+   */
+  public double[] data() {
+
+    return data;
+  }
+
+  /**
+   * Index of the element (i, j) in the backing array.
+   *
+   * @param i the row
+   * @param j the column
+   * @return the index in {@link #data()}
+   */
+  public int index(int i, int j) {
+
+    return offset + i * stride + j;
+  }
+
+  public double get(int i, int j) {
+
+    return data[offset + i * stride + j];
+  }
+
+  public void set(int i, int j, double value) {
+
+    data[offset + i * stride + j] = value;
+  }
+
+}
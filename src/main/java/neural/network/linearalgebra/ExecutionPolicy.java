@@ -0,0 +1,415 @@
+package neural.network.linearalgebra;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Decides whether an operation of {@link Matrix} or {@link Gemm} runs on the calling thread or is
+ * split over the threads of a pool. Forking tasks costs microseconds, which is more than the
+ * whole product of a small layer, so only operations of enough work should fan out.
+ *
+ * <ul>
+ *   <li>{@link Mode#SEQUENTIAL} runs every operation on the calling thread.</li>
+ *   <li>{@link Mode#PARALLEL} splits every operation of more than one task over a dedicated
+ *   pool.</li>
+ *   <li>{@link Mode#AUTO} splits an operation only if it takes at least {@link #threshold()}
+ *   floating point operations, a multiply-add counts as one. Operations called from a thread of
+ *   another fork join pool run on that thread, so they do not contend with the parallelism of
+ *   the caller.</li>
+ * </ul>
+ *
+ * <p>The system property {@value #PROPERTY} selects the mode of the policy used at startup with
+ * {@code sequential}, {@code parallel} or {@code auto}, the default. The threshold of
+ * {@code auto} is calibrated at startup from the time of forking and joining tasks on the pool
+ * and the time of a multiply-add, or set with the system property {@value #THRESHOLD_PROPERTY}.
+ * The calibration runs on a background thread, until it is done the threshold is
+ * {@value #DEFAULT_THRESHOLD}. Threads which already work in parallel with others, like the
+ * workers of a trainer, can run their operations inline with {@link #inline(Runnable)}.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class ExecutionPolicy {
+
+  /**
+   * The system property selecting the mode.
+   */
+  public static final String PROPERTY = "neural.network.parallelism";
+  /**
+   * The system property setting the threshold of {@link Mode#AUTO}.
+   */
+  public static final String THRESHOLD_PROPERTY = "neural.network.parallelism.threshold";
+
+  /**
+   * The threshold of {@link Mode#AUTO} before the calibration.
+   */
+  public static final long DEFAULT_THRESHOLD = 1L << 18;
+  // bounds of the calibrated threshold, in case the measurement was disturbed
+  private static final long MIN_THRESHOLD = 1L << 13;
+  private static final long MAX_THRESHOLD = 1L << 22;
+  private static final int CALIBRATION_SIZE = 1 << 12;
+  // the first half warms up the JIT, the second half measures
+  private static final long CALIBRATION_NANOS = 200_000_000;
+  // tasks per thread, so threads finishing early can steal some work
+  private static final int SPLITS_PER_THREAD = 4;
+
+  private static final ThreadLocal<Boolean> INLINE = ThreadLocal.withInitial(() -> false);
+  // null until a policy is set, the default policy is created on first use
+  private static volatile ExecutionPolicy current;
+
+  /**
+   * The modes of the policy.
+   */
+  public enum Mode {
+    SEQUENTIAL, PARALLEL, AUTO
+  }
+
+  private final Mode mode;
+  private final ForkJoinPool pool;
+  private volatile long threshold;
+  // the policy selected by the system properties, get() falls back to it
+  private boolean fallback;
+  // operations in parallel on the pool, the last one shuts down the pool of a replaced policy
+  private final AtomicInteger running = new AtomicInteger();
+  private volatile boolean replaced;
+
+  private ExecutionPolicy(Mode mode, ForkJoinPool pool, long threshold) {
+
+    this.mode = mode;
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * The policy used by the matrix operations.
+   *
+   * @return the current policy
+   */
+  public static ExecutionPolicy get() {
+
+    var policy = current;
+    return policy != null ? policy : Default.POLICY;
+  }
+
+  /**
+   * Replaces the policy used by the matrix operations. The pool of the replaced policy is shut
+   * down as soon as the operations running on it are done. Operations started later with the
+   * replaced policy, like those of threads which fetched it just before, run on the calling
+   * thread, and the replaced policy can not be set again. The policy selected by the system
+   * properties is never shut down, {@code null} restores it.
+   *
+   * @param policy the new policy, null for the policy selected by the system properties
+   * @throws IllegalArgumentException if the policy was replaced before
+   */
+  public static synchronized void set(ExecutionPolicy policy) {
+
+    if (policy != null && policy.replaced) {
+      throw new IllegalArgumentException("The policy " + policy + " was replaced before");
+    }
+    var previous = current;
+    current = policy;
+    if (previous != null && previous != policy && !previous.fallback && previous.pool != null) {
+      previous.replaced = true;
+      // otherwise the last running operation shuts it down, see forEach
+      if (previous.running.get() == 0) {
+        previous.pool.shutdown();
+      }
+    }
+  }
+
+  /**
+   * A policy running every operation on the calling thread.
+   *
+   * @return the policy
+   */
+  public static ExecutionPolicy sequential() {
+
+    return new ExecutionPolicy(Mode.SEQUENTIAL, null, Long.MAX_VALUE);
+  }
+
+  /**
+   * A policy splitting every operation over a new pool of the given amount of threads.
+   *
+   * @param threads the amount of threads of the pool
+   * @return the policy
+   */
+  public static ExecutionPolicy parallel(int threads) {
+
+    return new ExecutionPolicy(Mode.PARALLEL, newPool(threads), 0);
+  }
+
+  /**
+   * A policy splitting operations of at least the given amount of floating point operations over
+   * a new pool of the given amount of threads.
+   *
+   * @param threads   the amount of threads of the pool
+   * @param threshold the least amount of floating point operations run in parallel
+   * @return the policy
+   */
+  public static ExecutionPolicy auto(int threads, long threshold) {
+
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Invalid threshold " + threshold);
+    }
+    return new ExecutionPolicy(Mode.AUTO, newPool(threads), threshold);
+  }
+
+  /**
+   * A policy like {@link #auto(int, long)} with a threshold calibrated on this machine. The
+   * calibration takes {@value #CALIBRATION_NANOS} nanoseconds.
+   *
+   * @param threads the amount of threads of the pool
+   * @return the policy
+   */
+  public static ExecutionPolicy auto(int threads) {
+
+    var policy = auto(threads, DEFAULT_THRESHOLD);
+    policy.calibrate();
+    return policy;
+  }
+
+  /**
+   * Runs a task with all matrix operations of the calling thread on the calling thread,
+   * regardless of the policy.
+   *
+   * @param task the task
+   */
+  public static void inline(Runnable task) {
+
+    if (INLINE.get()) {
+      task.run();
+      return;
+    }
+    INLINE.set(true);
+    try {
+      task.run();
+    } finally {
+      INLINE.set(false);
+    }
+  }
+
+  public Mode mode() {
+
+    return mode;
+  }
+
+  /**
+   * The least amount of floating point operations run in parallel.
+   *
+   * @return 0 if every operation runs in parallel, {@link Long#MAX_VALUE} if none does
+   */
+  public long threshold() {
+
+    return threshold;
+  }
+
+  /**
+   * The amount of threads operations are split over.
+   *
+   * @return the parallelism of the pool, 1 for {@link Mode#SEQUENTIAL}
+   */
+  public int threads() {
+
+    return pool == null ? 1 : pool.getParallelism();
+  }
+
+  /**
+   * Whether an operation of the given amount of work is split over the pool when called from the
+   * current thread.
+   *
+   * @param flops the amount of floating point operations of the operation
+   * @return true if the operation runs in parallel
+   */
+  public boolean isParallel(long flops) {
+
+    switch (mode) {
+      case PARALLEL:
+        return !INLINE.get();
+      case AUTO:
+        if (flops < threshold || pool.getParallelism() < 2 || INLINE.get()) {
+          return false;
+        }
+        // called from the pool itself or from the parallelism of the caller
+        return !ForkJoinTask.inForkJoinPool() || ForkJoinTask.getPool() == pool;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Calls the body for every index of [0, tasks), either on the calling thread or in parallel on
+   * the pool, see {@link #isParallel(long)}. Returns when all calls are done. Once the policy is
+   * replaced by {@link #set(ExecutionPolicy)}, all calls run on the calling thread.
+   *
+   * @param tasks the amount of indices
+   * @param flops the amount of floating point operations of all calls together
+   * @param body  the body called with every index
+   */
+  public void forEach(int tasks, long flops, IntConsumer body) {
+
+    if (tasks > 1 && isParallel(flops)) {
+      // registers before checking, so set() either sees the operation or the operation sees set()
+      running.incrementAndGet();
+      try {
+        if (!replaced) {
+          int grain = Math.max(1, tasks / (pool.getParallelism() * SPLITS_PER_THREAD));
+          pool.invoke(new RangeTask(body, 0, tasks, grain));
+          return;
+        }
+      } finally {
+        if (running.decrementAndGet() == 0 && replaced) {
+          pool.shutdown();
+        }
+      }
+    }
+    for (int i = 0; i < tasks; i++) {
+      body.accept(i);
+    }
+  }
+
+  @Override
+  public String toString() {
+
+    return mode == Mode.AUTO
+           ? String.format("auto(threads=%s, threshold=%s)", threads(), threshold)
+           : mode.name().toLowerCase();
+  }
+
+  private static ExecutionPolicy select(String choice) {
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    switch (choice) {
+      case "sequential":
+        return sequential();
+      case "parallel":
+        return parallel(threads);
+      case "auto":
+        String threshold = System.getProperty(THRESHOLD_PROPERTY);
+        if (threshold != null) {
+          return auto(threads, Long.parseLong(threshold));
+        }
+        var policy = auto(threads, DEFAULT_THRESHOLD);
+        var calibration = new Thread(policy::calibrate, "matrix-calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+        return policy;
+      default:
+        throw new IllegalArgumentException(
+            String.format("Invalid value %s of %s, expected sequential, parallel or auto", choice,
+                          PROPERTY));
+    }
+  }
+
+  private static ForkJoinPool newPool(int threads) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("Invalid amount of threads " + threads);
+    }
+    return new ForkJoinPool(threads, pool -> {
+      var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("matrix-" + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }, null, false);
+  }
+
+  /**
+   * Measures the time of forking and joining a task per thread of the pool and the time of a
+   * multiply-add of the kernels. Splitting an operation of f flops over p threads saves
+   * {@code f * (1 - 1 / p)} multiply-adds of time, the threshold is the work at which the saving
+   * is twice the overhead.
+   */
+  private void calibrate() {
+
+    int threads = pool.getParallelism();
+    if (threads < 2) {
+      return;
+    }
+    var kernels = Kernels.get();
+    double[] a = new double[CALIBRATION_SIZE];
+    double[] b = new double[CALIBRATION_SIZE];
+    Arrays.fill(a, 1);
+    Arrays.fill(b, 1);
+    IntConsumer nothing = i -> { };
+
+    // take the fastest round after the warm up to skip interruptions
+    long start = System.nanoTime();
+    long warm = start + CALIBRATION_NANOS / 2;
+    long deadline = start + CALIBRATION_NANOS;
+    long dotNanos = Long.MAX_VALUE;
+    long forkNanos = Long.MAX_VALUE;
+    for (int round = 0; ; round++) {
+      long before = System.nanoTime();
+      // keeps the result alive, the values stay 1
+      a[round % CALIBRATION_SIZE] = kernels.dot(a, 0, b, 0, CALIBRATION_SIZE) / CALIBRATION_SIZE;
+      long middle = System.nanoTime();
+      pool.invoke(new RangeTask(nothing, 0, threads, 1));
+      long after = System.nanoTime();
+      if (after > deadline) {
+        break;
+      }
+      if (before > warm) {
+        dotNanos = Math.min(dotNanos, middle - before);
+        forkNanos = Math.min(forkNanos, after - middle);
+      }
+    }
+    if (dotNanos == Long.MAX_VALUE) {
+      return;
+    }
+    double nanosPerFlop = Math.max(dotNanos, 1) / (double) CALIBRATION_SIZE;
+    double flops = 2 * forkNanos / (nanosPerFlop * (1 - 1. / threads));
+    threshold = Math.min(MAX_THRESHOLD, Math.max(MIN_THRESHOLD, (long) flops));
+  }
+
+  /**
+   * Holder of the policy selected by the system properties. The calibration runs tasks on the
+   * pool, which must not wait for the initialisation of the class running the calibration.
+   */
+  private static final class Default {
+
+    private static final ExecutionPolicy POLICY = select(System.getProperty(PROPERTY, "auto"));
+
+    static {
+      POLICY.fallback = true;
+    }
+  }
+
+  /**
+   * Splits a range of indices until at most grain indices are left.
+   */
+  private static final class RangeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IntConsumer body;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    private RangeTask(IntConsumer body, int from, int to, int grain) {
+
+      this.body = body;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+
+      if (to - from <= grain) {
+        for (int i = from; i < to; i++) {
+          body.accept(i);
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new RangeTask(body, from, mid, grain), new RangeTask(body, mid, to, grain));
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+package neural.network.linearalgebra;
+
+import neural.network.linearalgebra.exception.IllegalMathOperationException;
+
+/**
+ * Dense row-major matrix of single precision values, the float counterpart of
+ * {@link DenseMatrix}. A float takes half the memory of a double, so every pass over the weights
+ * streams half the bytes. Element (i, j) is stored at {@code data[i * cols + j]}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class FloatMatrix {
+
+  private final float[] data;
+  private final int rows;
+  private final int cols;
+
+  /**
+   * Creates a new zero filled matrix of the size rows x cols.
+   *
+   * @param rows amount of rows
+   * @param cols amount of columns
+   */
+  public FloatMatrix(int rows, int cols) {
+
+    this(rows, cols, new float[rows * cols]);
+  }
+
+  /**
+   * Wraps an existing array as a matrix of the size rows x cols without copying it.
+   *
+   * @param rows amount of rows
+   * @param cols amount of columns
+   * @param data the backing array in row-major order
+   */
+  public FloatMatrix(int rows, int cols, float[] data) {
+
+    if (rows < 0 || cols < 0 || (long) rows * cols != data.length) {
+      throw new IllegalMathOperationException("Backing array of length %s does not fit %sx%s",
+                                              data.length, rows, cols);
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.data = data;
+  }
+
+  /**
+   * Rounds a matrix of doubles to the nearest floats.
+   *
+   * @param matrix the matrix
+   * @return a new float matrix with the rounded values
+   */
+  public static FloatMatrix of(DenseMatrix matrix) {
+
+    var tmp = new FloatMatrix(matrix.rows(), matrix.cols());
+    double[] a = matrix.data();
+    for (int i = 0; i < matrix.rows(); i++) {
+      int ra = matrix.index(i, 0);
+      int rc = i * tmp.cols;
+      for (int j = 0; j < matrix.cols(); j++) {
+        tmp.data[rc + j] = (float) a[ra + j];
+      }
+    }
+    return tmp;
+  }
+
+  /**
+   * Widens the matrix to doubles. The conversion is exact, so {@link #of(DenseMatrix)} of the
+   * result equals this matrix.
+   *
+   * @return a new dense matrix with the values of this matrix
+   */
+  public DenseMatrix toDense() {
+
+    var matrix = new DenseMatrix(rows, cols);
+    double[] c = matrix.data();
+    for (int i = 0; i < data.length; i++) {
+      c[i] = data[i];
+    }
+    return matrix;
+  }
+
+  /**
+   * Creates a copy of the matrix.
+   *
+   * @return a new matrix with its own backing array
+   */
+  public FloatMatrix copy() {
+
+    return new FloatMatrix(rows, cols, data.clone());
+  }
+
+  public int rows() {
+
+    return rows;
+  }
+
+  public int cols() {
+
+    return cols;
+  }
+
+  /**
+   * The backing array. Changes to the array are visible in the matrix and vice versa.
+   *
+   * @return the backing array
+   */
+  public float[] data() {
+
+    return data;
+  }
+
+  /**
+   * Index of the element (i, j) in the backing array.
+   *
+   * @param i the row
+   * @param j the column
+   * @return the index in {@link #data()}
+   */
+  public int index(int i, int j) {
+
+    return i * cols + j;
+  }
+
+  public float get(int i, int j) {
+
+    return data[i * cols + j];
+  }
+
+  public void set(int i, int j, float value) {
+
+    data[i * cols + j] = value;
+  }
+
+}
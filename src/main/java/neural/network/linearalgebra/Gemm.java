@@ -0,0 +1,403 @@
+package neural.network.linearalgebra;
+
+import neural.network.linearalgebra.exception.IllegalMathOperationException;
+
+/**
+ * General matrix-matrix multiplication {@code C = alpha * op(A) * op(B) + beta * C} on
+ * {@link DenseMatrix}, where op is either the identity or the transpose.
+ *
+ * <p>The columns of C are walked in panels of {@value #NC} and the depth in panels of
+ * {@value #KC}. Every panel of B is packed once into contiguous slivers of {@value #NR} columns
+ * and shared by all blocks of rows of C, every block packs its rows of A into slivers of
+ * {@value #MR} rows, so the micro kernel reads both operands sequentially and keeps a
+ * {@value #MR}x{@value #NR} block of C in registers. The blocks have {@value #MC} rows and are
+ * computed in parallel if the {@link ExecutionPolicy} decides so. If that gives fewer blocks than
+ * threads, the rows are split down to slivers of {@value #MR} and then the columns of the panel
+ * down to slivers of {@value #NR}, so small batches use all threads as well.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class Gemm {
+
+  /**
+   * Rows of C held in registers by the micro kernel.
+   */
+  static final int MR = 4;
+  /**
+   * Columns of C held in registers by the micro kernel.
+   */
+  static final int NR = 4;
+  /**
+   * Depth of a packed panel.
+   */
+  static final int KC = 256;
+  /**
+   * Rows of a tile of C, multiple of {@link #MR}.
+   */
+  static final int MC = 64;
+  /**
+   * Columns of a tile of C, multiple of {@link #NR}.
+   */
+  static final int NC = 256;
+
+  private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+  // the packed panel of B of the calling thread, taken out while in use by a multiplication
+  private static final ThreadLocal<double[]> PANEL = new ThreadLocal<>();
+
+  private Gemm() {
+
+  }
+
+  /**
+   * Computes {@code c = alpha * op(a) * op(b) + beta * c}. c must not share its storage with a or
+   * b.
+   *
+   * @param transA whether a is used transposed
+   * @param transB whether b is used transposed
+   * @param alpha  the factor of the product
+   * @param a      the MxK matrix op(a)
+   * @param b      the KxN matrix op(b)
+   * @param beta   the factor of the current values of c, 0 overwrites c
+   * @param c      the MxN result matrix
+   */
+  public static void gemm(boolean transA, boolean transB, double alpha, DenseMatrix a,
+                          DenseMatrix b, double beta, DenseMatrix c) {
+
+    new Operation(transA, transB, alpha, a, b, beta, c).run(ExecutionPolicy.get());
+  }
+
+  /**
+   * Scalar reference implementation of {@link #gemm}. It computes every element as a plain dot
+   * product and is only meant to validate the blocked implementation.
+   *
+   * @param transA whether a is used transposed
+   * @param transB whether b is used transposed
+   * @param alpha  the factor of the product
+   * @param a      the MxK matrix op(a)
+   * @param b      the KxN matrix op(b)
+   * @param beta   the factor of the current values of c, 0 overwrites c
+   * @param c      the MxN result matrix
+   */
+  public static void reference(boolean transA, boolean transB, double alpha, DenseMatrix a,
+                               DenseMatrix b, double beta, DenseMatrix c) {
+
+    var op = new Operation(transA, transB, alpha, a, b, beta, c);
+    for (int i = 0; i < op.m; i++) {
+      for (int j = 0; j < op.n; j++) {
+        double sum = 0;
+        for (int p = 0; p < op.k; p++) {
+          sum += op.a(i, p) * op.b(p, j);
+        }
+        double cur = beta == 0 ? 0 : beta * c.get(i, j);
+        c.set(i, j, cur + alpha * sum);
+      }
+    }
+  }
+
+  private static int ceilDiv(int x, int y) {
+
+    return (x + y - 1) / y;
+  }
+
+  /**
+   * Packing buffers of a single thread.
+   */
+  private static final class Workspace {
+
+    private final double[] packedA = new double[MC * KC];
+    private final double[] edge = new double[MR * NR];
+  }
+
+  /**
+   * A single multiplication with validated shapes.
+   */
+  private static final class Operation {
+
+    private final boolean transA;
+    private final boolean transB;
+    private final double alpha;
+    private final double beta;
+    private final DenseMatrix a;
+    private final DenseMatrix b;
+    private final DenseMatrix c;
+    private final int m;
+    private final int n;
+    private final int k;
+
+    private Operation(boolean transA, boolean transB, double alpha, DenseMatrix a,
+                      DenseMatrix b, double beta, DenseMatrix c) {
+
+      this.transA = transA;
+      this.transB = transB;
+      this.alpha = alpha;
+      this.beta = beta;
+      this.a = a;
+      this.b = b;
+      this.c = c;
+      this.m = transA ? a.cols() : a.rows();
+      this.k = transA ? a.rows() : a.cols();
+      this.n = transB ? b.rows() : b.cols();
+      int kb = transB ? b.cols() : b.rows();
+      if (k != kb || c.rows() != m || c.cols() != n) {
+        throw new IllegalMathOperationException(
+            "Can not multiply matrices of size %sx%s and %sx%s into %sx%s", m, k, kb, n,
+            c.rows(), c.cols());
+      }
+      if (c.data() == a.data() || c.data() == b.data()) {
+        throw new IllegalMathOperationException("Result matrix must not share storage");
+      }
+    }
+
+    private double a(int i, int p) {
+
+      return transA ? a.get(p, i) : a.get(i, p);
+    }
+
+    private double b(int p, int j) {
+
+      return transB ? b.get(j, p) : b.get(p, j);
+    }
+
+    private void run(ExecutionPolicy policy) {
+
+      if (m == 0 || n == 0) {
+        return;
+      }
+      if (alpha == 0 || k == 0) {
+        scale(0, 0, m, n);
+        return;
+      }
+
+      // a multiplication nested in a block of another one packs into a panel of its own
+      double[] panel = PANEL.get();
+      PANEL.remove();
+      if (panel == null) {
+        panel = new double[KC * NC];
+      }
+      try {
+        for (int jc = 0; jc < n; jc += NC) {
+          int nc = Math.min(NC, n - jc);
+          for (int pc = 0; pc < k; pc += KC) {
+            int kc = Math.min(KC, k - pc);
+            packB(panel, pc, jc, kc, nc);
+            multiply(policy, panel, jc, nc, pc, kc);
+          }
+        }
+      } finally {
+        PANEL.set(panel);
+      }
+    }
+
+    /**
+     * Adds the product of all rows of A with a packed panel of B to C, in blocks of rows and
+     * columns of the panel.
+     */
+    private void multiply(ExecutionPolicy policy, double[] panel, int jc, int nc, int pc,
+                          int kc) {
+
+      long flops = (long) m * nc * kc;
+      int mb = MC;
+      int nb = nc;
+      int threads = policy.threads();
+      if (ceilDiv(m, mb) < threads && policy.isParallel(flops)) {
+        mb = ceilDiv(ceilDiv(m, threads), MR) * MR;
+        int rowBlocks = ceilDiv(m, mb);
+        if (rowBlocks < threads) {
+          nb = ceilDiv(ceilDiv(nc, ceilDiv(threads, rowBlocks)), NR) * NR;
+        }
+      }
+      int rowSize = mb;
+      int colSize = nb;
+      int colBlocks = ceilDiv(nc, nb);
+      policy.forEach(ceilDiv(m, mb) * colBlocks, flops, block -> {
+        int ic = (block / colBlocks) * rowSize;
+        int jb = (block % colBlocks) * colSize;
+        computeBlock(panel, ic, Math.min(rowSize, m - ic), jc, jb, Math.min(colSize, nc - jb),
+                     pc, kc);
+      });
+    }
+
+    /**
+     * Adds the product of mc rows of A with nb columns of the packed panel, starting at column jb
+     * of the panel, to C. The first panel of the depth scales the block of C before.
+     */
+    private void computeBlock(double[] panel, int ic, int mc, int jc, int jb, int nb, int pc,
+                              int kc) {
+
+      if (pc == 0) {
+        scale(ic, jc + jb, mc, nb);
+      }
+      var ws = WORKSPACE.get();
+      packA(ws.packedA, ic, pc, mc, kc);
+      for (int jr = jb; jr < jb + nb; jr += NR) {
+        for (int ir = 0; ir < mc; ir += MR) {
+          kernel(kc, ws.packedA, ir * kc, panel, jr * kc, ic + ir, jc + jr,
+                 Math.min(MR, mc - ir), Math.min(NR, jb + nb - jr), ws.edge);
+        }
+      }
+    }
+
+    private void scale(int ic, int jc, int mc, int nc) {
+
+      if (beta == 1) {
+        return;
+      }
+      double[] data = c.data();
+      for (int i = ic; i < ic + mc; i++) {
+        int row = c.index(i, jc);
+        for (int j = row; j < row + nc; j++) {
+          data[j] = beta == 0 ? 0 : data[j] * beta;
+        }
+      }
+    }
+
+    /**
+     * Packs mc rows of A into slivers of {@link #MR} rows. Within a sliver the values are stored
+     * depth first, missing rows at the edge are filled with zeros.
+     */
+    private void packA(double[] dst, int ic, int pc, int mc, int kc) {
+
+      double[] data = a.data();
+      int idx = 0;
+      for (int ir = 0; ir < mc; ir += MR) {
+        for (int p = pc; p < pc + kc; p++) {
+          for (int ii = 0; ii < MR; ii++) {
+            int i = ic + ir + ii;
+            if (ir + ii < mc) {
+              dst[idx] = transA ? data[a.index(p, i)] : data[a.index(i, p)];
+            } else {
+              dst[idx] = 0;
+            }
+            idx++;
+          }
+        }
+      }
+    }
+
+    /**
+     * Packs nc columns of B into slivers of {@link #NR} columns. Within a sliver the values are
+     * stored depth first, missing columns at the edge are filled with zeros.
+     */
+    private void packB(double[] dst, int pc, int jc, int kc, int nc) {
+
+      double[] data = b.data();
+      int idx = 0;
+      for (int jr = 0; jr < nc; jr += NR) {
+        for (int p = pc; p < pc + kc; p++) {
+          for (int jj = 0; jj < NR; jj++) {
+            int j = jc + jr + jj;
+            if (jr + jj < nc) {
+              dst[idx] = transB ? data[b.index(j, p)] : data[b.index(p, j)];
+            } else {
+              dst[idx] = 0;
+            }
+            idx++;
+          }
+        }
+      }
+    }
+
+    /**
+     * Multiplies a packed sliver of A with a packed sliver of B and adds the {@link #MR}x
+     * {@link #NR} block to C.
+     */
+    private void kernel(int kc, double[] pa, int ia, double[] pb, int ib, int row, int col,
+                        int mr, int nr, double[] edge) {
+
+      double c00 = 0;
+      double c01 = 0;
+      double c02 = 0;
+      double c03 = 0;
+      double c10 = 0;
+      double c11 = 0;
+      double c12 = 0;
+      double c13 = 0;
+      double c20 = 0;
+      double c21 = 0;
+      double c22 = 0;
+      double c23 = 0;
+      double c30 = 0;
+      double c31 = 0;
+      double c32 = 0;
+      double c33 = 0;
+      for (int p = 0; p < kc; p++) {
+        double a0 = pa[ia];
+        double a1 = pa[ia + 1];
+        double a2 = pa[ia + 2];
+        double a3 = pa[ia + 3];
+        double b0 = pb[ib];
+        double b1 = pb[ib + 1];
+        double b2 = pb[ib + 2];
+        double b3 = pb[ib + 3];
+        c00 += a0 * b0;
+        c01 += a0 * b1;
+        c02 += a0 * b2;
+        c03 += a0 * b3;
+        c10 += a1 * b0;
+        c11 += a1 * b1;
+        c12 += a1 * b2;
+        c13 += a1 * b3;
+        c20 += a2 * b0;
+        c21 += a2 * b1;
+        c22 += a2 * b2;
+        c23 += a2 * b3;
+        c30 += a3 * b0;
+        c31 += a3 * b1;
+        c32 += a3 * b2;
+        c33 += a3 * b3;
+        ia += MR;
+        ib += NR;
+      }
+
+      double[] data = c.data();
+      if (mr == MR && nr == NR) {
+        int r0 = c.index(row, col);
+        int r1 = r0 + c.stride();
+        int r2 = r1 + c.stride();
+        int r3 = r2 + c.stride();
+        data[r0] += alpha * c00;
+        data[r0 + 1] += alpha * c01;
+        data[r0 + 2] += alpha * c02;
+        data[r0 + 3] += alpha * c03;
+        data[r1] += alpha * c10;
+        data[r1 + 1] += alpha * c11;
+        data[r1 + 2] += alpha * c12;
+        data[r1 + 3] += alpha * c13;
+        data[r2] += alpha * c20;
+        data[r2 + 1] += alpha * c21;
+        data[r2 + 2] += alpha * c22;
+        data[r2 + 3] += alpha * c23;
+        data[r3] += alpha * c30;
+        data[r3 + 1] += alpha * c31;
+        data[r3 + 2] += alpha * c32;
+        data[r3 + 3] += alpha * c33;
+        return;
+      }
+
+      edge[0] = c00;
+      edge[1] = c01;
+      edge[2] = c02;
+      edge[3] = c03;
+      edge[4] = c10;
+      edge[5] = c11;
+      edge[6] = c12;
+      edge[7] = c13;
+      edge[8] = c20;
+      edge[9] = c21;
+      edge[10] = c22;
+      edge[11] = c23;
+      edge[12] = c30;
+      edge[13] = c31;
+      edge[14] = c32;
+      edge[15] = c33;
+      for (int ii = 0; ii < mr; ii++) {
+        int r = c.index(row + ii, col);
+        for (int jj = 0; jj < nr; jj++) {
+          data[r + jj] += alpha * edge[ii * NR + jj];
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,233 @@
+package neural.network.linearalgebra;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The innermost loops of the matrix operations on raw arrays. {@link Matrix} runs all its vector
+ * products and updates through the kernels selected at startup: the scalar loops, or loops over
+ * the SIMD registers of the CPU written with the incubating Vector API of the JDK.
+ *
+ * <p>The Vector API is used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and the CPU offers at least four double lanes. The
+ * system property {@value #PROPERTY} forces a choice with {@code scalar} or {@code vector},
+ * {@code auto} is the default. Without the module, or if the Vector API can not be loaded on the
+ * CPU, {@code auto} falls back to the scalar kernels while {@code vector} fails.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public abstract class Kernels {
+
+  /**
+   * The system property selecting the kernels.
+   */
+  public static final String PROPERTY = "neural.network.kernels";
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_KERNELS = "neural.network.linearalgebra.VectorKernels";
+  private static final Kernels INSTANCE = select(System.getProperty(PROPERTY, "auto"));
+
+  Kernels() {
+
+  }
+
+  /**
+   * The kernels used by {@link Matrix}.
+   *
+   * @return the selected kernels
+   */
+  public static Kernels get() {
+
+    return INSTANCE;
+  }
+
+  /**
+   * The scalar kernels, available on every JVM.
+   *
+   * @return the scalar kernels
+   */
+  public static Kernels scalar() {
+
+    return ScalarKernels.INSTANCE;
+  }
+
+  /**
+   * Whether the kernels of the Vector API can be used by this JVM.
+   *
+   * @return true if the module of the Vector API is present
+   */
+  public static boolean vectorAvailable() {
+
+    return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+  }
+
+  /**
+   * The kernels using the Vector API.
+   *
+   * @return the vector kernels
+   * @throws UnsupportedOperationException if the module of the Vector API is not present
+   */
+  public static Kernels vector() {
+
+    if (!vectorAvailable()) {
+      throw new UnsupportedOperationException(
+          "Start the JVM with --add-modules " + VECTOR_MODULE + " to use the vector kernels");
+    }
+    try {
+      return (Kernels) Class.forName(VECTOR_KERNELS).getDeclaredField("INSTANCE").get(null);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new UnsupportedOperationException("Vector kernels not available", e);
+    }
+  }
+
+  private static Kernels select(String choice) {
+
+    switch (choice) {
+      case "scalar":
+        return scalar();
+      case "vector":
+        return vector();
+      case "auto":
+        if (vectorAvailable()) {
+          try {
+            var vector = vector();
+            if (vector.lanes() >= 4) {
+              return vector;
+            }
+          } catch (UnsupportedOperationException e) {
+            // the Vector API does not support this CPU, only an explicit choice fails
+          }
+        }
+        return scalar();
+      default:
+        throw new IllegalArgumentException(
+            String.format("Invalid value %s of %s, expected scalar, vector or auto", choice,
+                          PROPERTY));
+    }
+  }
+
+  /**
+   * The name of the kernels.
+   *
+   * @return e.g. "scalar"
+   */
+  public abstract String name();
+
+  /**
+   * The amount of doubles processed by a single instruction.
+   *
+   * @return the amount of lanes
+   */
+  public abstract int lanes();
+
+  /**
+   * The dot product of n consecutive values of two arrays.
+   *
+   * @param a    the first array
+   * @param aOff the index of the first value in a
+   * @param b    the second array
+   * @param bOff the index of the first value in b
+   * @param n    the amount of values
+   * @return the sum of the products
+   */
+  public abstract double dot(double[] a, int aOff, double[] b, int bOff, int n);
+
+  /**
+   * Adds n consecutive values of x times alpha to y, {@code y += alpha * x}.
+   *
+   * @param alpha the factor
+   * @param x     the array to add
+   * @param xOff  the index of the first value in x
+   * @param y     the array to add to
+   * @param yOff  the index of the first value in y
+   * @param n     the amount of values
+   */
+  public abstract void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n);
+
+  /**
+   * Applies {@code 1 / (1 + e^-x)} to a range of an array in place.
+   *
+   * @param arr  the array
+   * @param from the first index, inclusive
+   * @param to   the last index, exclusive
+   */
+  public abstract void sigmoid(double[] arr, int from, int to);
+
+  /**
+   * The dot product of n consecutive doubles of a buffer with n consecutive values of an array,
+   * e.g. of the weights of a mapped model file with an image. The doubles are read in the byte
+   * order of the buffer with absolute loads, so the buffer may be shared between threads.
+   *
+   * @param a    the buffer
+   * @param aOff the index of the first double in a, in doubles
+   * @param b    the array
+   * @param bOff the index of the first value in b
+   * @param n    the amount of values
+   * @return the sum of the products
+   */
+  public abstract double dotDoubles(ByteBuffer a, int aOff, double[] b, int bOff, int n);
+
+  /**
+   * The dot product of n consecutive floats of a buffer with n consecutive doubles of an array,
+   * see {@link #dotDoubles(ByteBuffer, int, double[], int, int)}. The floats are widened and the
+   * products summed in double precision.
+   *
+   * @param a    the buffer
+   * @param aOff the index of the first float in a, in floats
+   * @param b    the array
+   * @param bOff the index of the first value in b
+   * @param n    the amount of values
+   * @return the sum of the products
+   */
+  public abstract double dotFloats(ByteBuffer a, int aOff, double[] b, int bOff, int n);
+
+  /**
+   * The dot product of n consecutive floats of two arrays, see
+   * {@link #dot(double[], int, double[], int, int)}.
+   *
+   * @param a    the first array
+   * @param aOff the index of the first value in a
+   * @param b    the second array
+   * @param bOff the index of the first value in b
+   * @param n    the amount of values
+   * @return the sum of the products
+   */
+  public abstract float dot(float[] a, int aOff, float[] b, int bOff, int n);
+
+  /**
+   * Adds n consecutive floats of x times alpha to y, see
+   * {@link #axpy(double, double[], int, double[], int, int)}.
+   *
+   * @param alpha the factor
+   * @param x     the array to add
+   * @param xOff  the index of the first value in x
+   * @param y     the array to add to
+   * @param yOff  the index of the first value in y
+   * @param n     the amount of values
+   */
+  public abstract void axpy(float alpha, float[] x, int xOff, float[] y, int yOff, int n);
+
+  /**
+   * Applies {@code 1 / (1 + e^-x)} to a range of a float array in place.
+   *
+   * @param arr  the array
+   * @param from the first index, inclusive
+   * @param to   the last index, exclusive
+   */
+  public abstract void sigmoid(float[] arr, int from, int to);
+
+  /**
+   * The dot product of n consecutive signed bytes with n consecutive unsigned bytes, e.g. of
+   * quantised weights with pixels. The sum is exact for n up to 65,793, which is
+   * {@code 2^31 / (128 * 255)}, or up to 66,313 if the signed values stay within [-127, 127] like
+   * the quantised weights of {@link neural.network.QuantizedModel}.
+   *
+   * @param a    the signed values
+   * @param aOff the index of the first value in a
+   * @param b    the unsigned values
+   * @param bOff the index of the first value in b
+   * @param n    the amount of values
+   * @return the sum of the products
+   */
+  public abstract int dotUnsigned(byte[] a, int aOff, byte[] b, int bOff, int n);
+
+}
@@ -1,17 +1,33 @@
 package neural.network.linearalgebra;
 
-import java.util.stream.IntStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import neural.network.linearalgebra.exception.IllegalMathOperationException;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Linear Algebra Math library.
  *
+ * <p>The allocating operations and the matrix products and updates of the destination passing
+ * operations split large inputs over the threads of the {@link ExecutionPolicy}, small ones run
+ * on the calling thread. Element wise operations on vectors always run on the calling thread.
+ * Threads which are already part of a parallel computation, like the workers of a trainer, run
+ * their operations inline with {@link ExecutionPolicy#inline(Runnable)}.</p>
+ *
  * <p>Created by: Jack</p>
  * <p>Date: 01.11.2022</p>
  */
 public class Matrix {
 
+  /**
+   * Width of the output column blocks handed to a single task by the transposed products.
+   */
+  private static final int COLUMN_BLOCK = 128;
+
+  /**
+   * The kernels running the innermost loops, see {@link Kernels}.
+   */
+  private static final Kernels KERNELS = Kernels.get();
 
   /**
    * Multiplies two matrices of which the input matrix is a Nx1 matrix and the weights are of MxN
@@ -28,11 +44,8 @@ public class Matrix {
     }
 
     double[] temp = new double[weights.length];
-    IntStream.range(0, weights.length).parallel().forEach(i -> {
-      for (int k = 0; k < input.length; k++) {
-        temp[i] += weights[i][k] * input[k];
-      }
-    });
+    ExecutionPolicy.get().forEach(weights.length, (long) weights.length * input.length,
+        i -> temp[i] = KERNELS.dot(weights[i], 0, input, 0, input.length));
 
     return temp;
   }
@@ -52,11 +65,8 @@ public class Matrix {
     }
 
     double[] temp = new double[matrix.length];
-    IntStream.range(0, matrix.length).parallel().forEach(i -> {
-      for (int k = 0; k < vector.length; k++) {
-        temp[i] += matrix[i][k] * vector[k];
-      }
-    });
+    ExecutionPolicy.get().forEach(matrix.length, (long) matrix.length * vector.length,
+        i -> temp[i] = KERNELS.dot(matrix[i], 0, vector, 0, vector.length));
 
     return temp;
   }
@@ -76,7 +86,7 @@ public class Matrix {
           "Invalid matrix size. Can not add matrix of different sizes");
     }
 
-    IntStream.range(0, fst.length).parallel().forEach(i -> {
+    ExecutionPolicy.get().forEach(fst.length, (long) fst.length * fst[0].length, i -> {
       for (int j = 0; j < fst[i].length; j++) {
         tmp[i][j] = fst[i][j] + scd[i][j];
       }
@@ -94,25 +104,11 @@ public class Matrix {
    */
   public static double[][] mult(double[][] first, double[][] second) {
 
-    int m, n;
-    m = first.length;
-    n = second[0].length;
-
-    if (m != n) {
+    if (first[0].length != second.length) {
       throw new IllegalMathOperationException("Matrizen incompatibel");
     }
 
-    double[][] temp = new double[first.length][second[0].length];
-
-    IntStream.range(0, m).parallel().forEach(i -> {
-      for (int j = 0; j < n; j++) {
-        for (int k = 0; k < second.length; k++) {
-          temp[i][j] += first[i][k] * second[k][j];
-        }
-      }
-    });
-
-    return temp;
+    return mult(DenseMatrix.of(first), DenseMatrix.of(second)).toArray();
   }
 
   /**
@@ -125,7 +121,7 @@ public class Matrix {
   public static double[][] mult(double alpha, double[][] arr) {
 
     var temp = new double[arr.length][arr[0].length];
-    IntStream.range(0, arr.length).parallel().forEach(i -> {
+    ExecutionPolicy.get().forEach(arr.length, (long) arr.length * arr[0].length, i -> {
 
       for (int j = 0; j < arr[i].length; j++) {
         temp[i][j] = arr[i][j] * alpha;
@@ -144,7 +140,7 @@ public class Matrix {
 
     double[][] temp = new double[matrix[0].length][matrix.length];
 
-    IntStream.range(0, matrix.length).parallel().forEach(
+    ExecutionPolicy.get().forEach(matrix.length, (long) matrix.length * matrix[0].length,
         i -> {
           for (int j = 0; j < matrix[i].length; j++) {
             temp[j][i] = matrix[i][j];
@@ -214,8 +210,9 @@ public class Matrix {
   }
 
   /**
-   * Transpose the matrix and multiply with the vector. This is a shorthand method for first
-   * transposing a MxN matrix and before multiplying with an M-dimensional vector.
+   * Multiplies the transpose of a MxN matrix with an M-dimensional vector. The matrix is not
+   * transposed, instead the rows are walked in their original order and each row is accumulated
+   * into the output columns. Parallel execution over blocks of output columns.
    *
    * @param matrix the matrix
    * @param vector the vector
@@ -223,8 +220,20 @@ public class Matrix {
    */
   public static double[] multTrans(double[][] matrix, double[] vector) {
 
-    var t = trans(matrix);
-    return mult(t, vector);
+    if (matrix.length != vector.length) {
+      throw new IllegalMathOperationException("Invalid matrix operation");
+    }
+
+    int n = matrix[0].length;
+    double[] temp = new double[n];
+    ExecutionPolicy.get().forEach(columnBlocks(n), (long) matrix.length * n, b -> {
+      int from = b * COLUMN_BLOCK;
+      int to = Math.min(n, from + COLUMN_BLOCK);
+      for (int i = 0; i < matrix.length; i++) {
+        KERNELS.axpy(vector[i], matrix[i], from, temp, from, to - from);
+      }
+    });
+    return temp;
   }
 
   /**
@@ -239,7 +248,7 @@ public class Matrix {
 
     double[][] tmp = new double[fst.length][scnd.length];
 
-    IntStream.range(0, tmp.length).parallel().forEach(i -> {
+    ExecutionPolicy.get().forEach(tmp.length, (long) fst.length * scnd.length, i -> {
       for (int j = 0; j < scnd.length; j++) {
         tmp[i][j] += fst[i] * scnd[j];
       }
@@ -248,6 +257,703 @@ public class Matrix {
     return tmp;
   }
 
+  /**
+   * Multiplies a MxN matrix with a N-dimensional vector. The result is a vector of M dimensions.
+   *
+   * @param matrix the weights matrix
+   * @param vector the input vector
+   * @return new vector Mx1
+   */
+  public static double[] mult(final DenseMatrix matrix, final double[] vector) {
+
+    if (matrix.cols() != vector.length) {
+      throw new IllegalMathOperationException("Invalid matrix operation");
+    }
+
+    double[] data = matrix.data();
+    double[] temp = new double[matrix.rows()];
+    ExecutionPolicy.get().forEach(matrix.rows(), (long) matrix.rows() * matrix.cols(),
+        i -> temp[i] = KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length));
+
+    return temp;
+  }
+
+  /**
+   * Adds two matrices of the same size.
+   *
+   * @param fst first matrix
+   * @param scd second matrix
+   * @return a new matrix with the sum of both
+   */
+  public static DenseMatrix add(DenseMatrix fst, DenseMatrix scd) {
+
+    if (fst.rows() != scd.rows() || fst.cols() != scd.cols()) {
+      throw new IllegalMathOperationException(
+          "Invalid matrix size. Can not add matrix of different sizes");
+    }
+
+    var tmp = new DenseMatrix(fst.rows(), fst.cols());
+    double[] a = fst.data();
+    double[] b = scd.data();
+    double[] c = tmp.data();
+    ExecutionPolicy.get().forEach(fst.rows(), (long) fst.rows() * fst.cols(), i -> {
+      int ra = fst.index(i, 0);
+      int rb = scd.index(i, 0);
+      int rc = tmp.index(i, 0);
+      for (int j = 0; j < fst.cols(); j++) {
+        c[rc + j] = a[ra + j] + b[rb + j];
+      }
+    });
+    return tmp;
+  }
+
+  /**
+   * Multiplies two matrices. returns a new matrix of the size MxN where M is the number of rows in
+   * the first and N the number of columns in the second matrix. Parallel execution, see
+   * {@link Gemm}.
+   *
+   * @param first  first matrix MxK
+   * @param second second matrix KxN
+   * @return new matrix MxN
+   */
+  public static DenseMatrix mult(DenseMatrix first, DenseMatrix second) {
+
+    return mult(first, second, new DenseMatrix(first.rows(), second.cols()));
+  }
+
+  /**
+   * Multiplies a matrix with a given alpha.
+   *
+   * @param alpha  the alpha to multiply with
+   * @param matrix the matrix
+   * @return new matrix with modified values
+   */
+  public static DenseMatrix mult(double alpha, DenseMatrix matrix) {
+
+    var temp = new DenseMatrix(matrix.rows(), matrix.cols());
+    double[] a = matrix.data();
+    double[] c = temp.data();
+    ExecutionPolicy.get().forEach(matrix.rows(), (long) matrix.rows() * matrix.cols(), i -> {
+      int ra = matrix.index(i, 0);
+      int rc = temp.index(i, 0);
+      for (int j = 0; j < matrix.cols(); j++) {
+        c[rc + j] = a[ra + j] * alpha;
+      }
+    });
+    return temp;
+  }
+
+  /**
+   * Transpose of a matrix.
+   *
+   * @param matrix matrix to transpose
+   * @return a transpose of the original matrix m<pow>T</pow>
+   */
+  public static DenseMatrix trans(DenseMatrix matrix) {
+
+    var temp = new DenseMatrix(matrix.cols(), matrix.rows());
+    double[] a = matrix.data();
+    double[] c = temp.data();
+    ExecutionPolicy.get().forEach(matrix.rows(), (long) matrix.rows() * matrix.cols(), i -> {
+      int ra = matrix.index(i, 0);
+      for (int j = 0; j < matrix.cols(); j++) {
+        c[temp.index(j, i)] = a[ra + j];
+      }
+    });
+
+    return temp;
+  }
+
+  /**
+   * Multiplies the transpose of a MxN matrix with an M-dimensional vector without transposing the
+   * matrix. Parallel execution, see {@link #multTransParallel(DenseMatrix, double[], double[])}.
+   *
+   * @param matrix the matrix
+   * @param vector the vector
+   * @return return a new vector of N dimensions
+   */
+  public static double[] multTrans(DenseMatrix matrix, double[] vector) {
+
+    return multTransParallel(matrix, vector, new double[matrix.cols()]);
+  }
+
+  /**
+   * Outer product of two vectors, the dense counterpart of {@link #multTrans(double[], double[])}.
+   *
+   * @param fst  the first vector
+   * @param scnd the second vector, treated as transpose
+   * @return a MxN matrix of which M is the length of the first vector and N the length of the
+   *     second.
+   */
+  public static DenseMatrix outer(double[] fst, double[] scnd) {
+
+    var tmp = new DenseMatrix(fst.length, scnd.length);
+    double[] c = tmp.data();
+    ExecutionPolicy.get().forEach(fst.length, (long) fst.length * scnd.length, i -> {
+      int rc = tmp.index(i, 0);
+      for (int j = 0; j < scnd.length; j++) {
+        c[rc + j] = fst[i] * scnd[j];
+      }
+    });
+
+    return tmp;
+  }
+
+  /*
+   * Destination passing variants. These write into a buffer provided by the caller, so a training
+   * step can reuse its buffers instead of allocating new arrays. Products and updates of matrices
+   * are split over the ExecutionPolicy like the allocating operations, the element wise operations
+   * on vectors always run on the calling thread. The tasks are only created if the policy runs the
+   * operation in parallel, so the sequential path does not allocate.
+   */
+
+  /**
+   * Multiplies a MxN matrix with a N-dimensional vector and writes the result into dst.
+   *
+   * @param matrix the weights matrix
+   * @param vector the input vector of N dimensions
+   * @param dst    the output vector of M dimensions
+   * @return dst
+   */
+  public static double[] mult(final DenseMatrix matrix, final double[] vector, double[] dst) {
+
+    checkGemv(matrix.rows(), matrix.cols(), vector.length, dst.length);
+    double[] data = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) dst.length * vector.length)) {
+      policy.forEach(dst.length, (long) dst.length * vector.length,
+          i -> dst[i] = KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length));
+      return dst;
+    }
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies a MxN matrix of doubles held in a buffer with a N-dimensional vector and writes the
+   * result into dst. The matrix is read in row-major order starting at index 0 in the byte order
+   * of the buffer, through the kernels and with absolute loads only, so the buffer may be a view
+   * of a mapped file that is shared between threads.
+   *
+   * @param matrix the weights matrix in row-major order
+   * @param rows   the amount of rows M
+   * @param cols   the amount of columns N
+   * @param vector the input vector of N dimensions
+   * @param dst    the output vector of M dimensions
+   * @return dst
+   */
+  public static double[] multDoubles(final ByteBuffer matrix, int rows, int cols,
+                                     final double[] vector, double[] dst) {
+
+    checkBuffer(matrix, rows, cols, vector.length, dst.length, Double.BYTES);
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) rows * cols)) {
+      policy.forEach(rows, (long) rows * cols,
+          i -> dst[i] = KERNELS.dotDoubles(matrix, i * cols, vector, 0, cols));
+      return dst;
+    }
+    for (int i = 0; i < rows; i++) {
+      dst[i] = KERNELS.dotDoubles(matrix, i * cols, vector, 0, cols);
+    }
+    return dst;
+  }
+
+  /**
+   * Accumulates the product of a MxN matrix and a N-dimensional vector into dst, i.e.
+   * {@code dst += alpha * matrix * vector}.
+   *
+   * @param alpha  the factor for the product
+   * @param matrix the matrix
+   * @param vector the vector of N dimensions
+   * @param dst    the vector of M dimensions to accumulate into
+   * @return dst
+   */
+  public static double[] multAdd(double alpha, final DenseMatrix matrix, final double[] vector,
+                                 double[] dst) {
+
+    checkGemv(matrix.rows(), matrix.cols(), vector.length, dst.length);
+    double[] data = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) dst.length * vector.length)) {
+      policy.forEach(dst.length, (long) dst.length * vector.length,
+          i -> dst[i] += alpha * KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length));
+      return dst;
+    }
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] += alpha * KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies the transpose of a MxN matrix with a M-dimensional vector and writes the result
+   * into dst.
+   *
+   * @param matrix the matrix
+   * @param vector the vector of M dimensions
+   * @param dst    the output vector of N dimensions
+   * @return dst
+   */
+  public static double[] multTrans(final DenseMatrix matrix, final double[] vector, double[] dst) {
+
+    checkGemv(matrix.cols(), matrix.rows(), vector.length, dst.length);
+    if (ExecutionPolicy.get().isParallel((long) vector.length * dst.length)) {
+      return multTransParallel(matrix, vector, dst);
+    }
+    double[] data = matrix.data();
+    Arrays.fill(dst, 0);
+    for (int i = 0; i < vector.length; i++) {
+      KERNELS.axpy(vector[i], data, matrix.index(i, 0), dst, 0, dst.length);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies the transpose of a MxN matrix with a M-dimensional vector and writes the result
+   * into dst. The output columns are split into blocks and every block is computed by a single
+   * task walking all rows, so no two tasks write to the same element of dst. The blocks run in
+   * parallel if the {@link ExecutionPolicy} decides so.
+   *
+   * @param matrix the matrix
+   * @param vector the vector of M dimensions
+   * @param dst    the output vector of N dimensions
+   * @return dst
+   */
+  public static double[] multTransParallel(final DenseMatrix matrix, final double[] vector,
+                                           double[] dst) {
+
+    checkGemv(matrix.cols(), matrix.rows(), vector.length, dst.length);
+    double[] data = matrix.data();
+    long flops = (long) vector.length * dst.length;
+    ExecutionPolicy.get().forEach(columnBlocks(dst.length), flops, b -> {
+      int from = b * COLUMN_BLOCK;
+      int to = Math.min(dst.length, from + COLUMN_BLOCK);
+      Arrays.fill(dst, from, to, 0);
+      for (int i = 0; i < vector.length; i++) {
+        KERNELS.axpy(vector[i], data, matrix.index(i, 0) + from, dst, from, to - from);
+      }
+    });
+    return dst;
+  }
+
+  /**
+   * Multiplies two matrices and writes the MxN product into dst, see {@link Gemm}.
+   *
+   * @param first  first matrix MxK
+   * @param second second matrix KxN
+   * @param dst    the MxN matrix receiving the product, must not share storage with the operands
+   * @return dst
+   */
+  public static DenseMatrix mult(DenseMatrix first, DenseMatrix second, DenseMatrix dst) {
+
+    Gemm.gemm(false, false, 1, first, second, 0, dst);
+    return dst;
+  }
+
+  /**
+   * Adds two matrices of the same size and writes the sum into dst. dst may be one of the
+   * operands.
+   *
+   * @param fst first matrix
+   * @param scd second matrix
+   * @param dst the matrix receiving the sum
+   * @return dst
+   */
+  public static DenseMatrix add(DenseMatrix fst, DenseMatrix scd, DenseMatrix dst) {
+
+    checkSameSize(fst, scd);
+    checkSameSize(fst, dst);
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) fst.rows() * fst.cols())) {
+      policy.forEach(fst.rows(), (long) fst.rows() * fst.cols(),
+          i -> addRow(fst, scd, dst, i));
+      return dst;
+    }
+    for (int i = 0; i < fst.rows(); i++) {
+      addRow(fst, scd, dst, i);
+    }
+    return dst;
+  }
+
+  /**
+   * Adds a scaled matrix to dst, {@code dst += alpha * matrix}.
+   *
+   * @param alpha  the factor for the matrix
+   * @param matrix the matrix to add
+   * @param dst    the matrix to add to
+   * @return dst
+   */
+  public static DenseMatrix add(double alpha, DenseMatrix matrix, DenseMatrix dst) {
+
+    checkSameSize(matrix, dst);
+    double[] a = matrix.data();
+    double[] c = dst.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) matrix.rows() * matrix.cols())) {
+      policy.forEach(matrix.rows(), (long) matrix.rows() * matrix.cols(),
+          i -> KERNELS.axpy(alpha, a, matrix.index(i, 0), c, dst.index(i, 0), matrix.cols()));
+      return dst;
+    }
+    for (int i = 0; i < matrix.rows(); i++) {
+      KERNELS.axpy(alpha, a, matrix.index(i, 0), c, dst.index(i, 0), matrix.cols());
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies a matrix with a given alpha and writes the result into dst. dst may be the matrix
+   * itself.
+   *
+   * @param alpha  the alpha to multiply with
+   * @param matrix the matrix
+   * @param dst    the matrix receiving the result
+   * @return dst
+   */
+  public static DenseMatrix mult(double alpha, DenseMatrix matrix, DenseMatrix dst) {
+
+    checkSameSize(matrix, dst);
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) matrix.rows() * matrix.cols())) {
+      policy.forEach(matrix.rows(), (long) matrix.rows() * matrix.cols(),
+          i -> scaleRow(alpha, matrix, dst, i));
+      return dst;
+    }
+    for (int i = 0; i < matrix.rows(); i++) {
+      scaleRow(alpha, matrix, dst, i);
+    }
+    return dst;
+  }
+
+  /**
+   * Writes the outer product of two vectors into dst.
+   *
+   * @param fst  the first vector of M dimensions
+   * @param scnd the second vector of N dimensions, treated as transpose
+   * @param dst  the MxN matrix receiving the product
+   * @return dst
+   */
+  public static DenseMatrix outer(double[] fst, double[] scnd, DenseMatrix dst) {
+
+    if (dst.rows() != fst.length || dst.cols() != scnd.length) {
+      throw new IllegalMathOperationException("Can not write %sx%s product into %sx%s matrix",
+                                              fst.length, scnd.length, dst.rows(), dst.cols());
+    }
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) fst.length * scnd.length)) {
+      policy.forEach(fst.length, (long) fst.length * scnd.length,
+          i -> outerRow(fst, scnd, dst, i));
+      return dst;
+    }
+    for (int i = 0; i < fst.length; i++) {
+      outerRow(fst, scnd, dst, i);
+    }
+    return dst;
+  }
+
+  /**
+   * Rank-1 update of a matrix, {@code matrix += alpha * fst * scnd<pow>T</pow>}. The update is
+   * applied directly to the storage of the matrix.
+   *
+   * @param alpha  the factor for the outer product
+   * @param fst    the first vector of M dimensions
+   * @param scnd   the second vector of N dimensions, treated as transpose
+   * @param matrix the MxN matrix to update
+   * @return matrix
+   */
+  public static DenseMatrix ger(double alpha, double[] fst, double[] scnd, DenseMatrix matrix) {
+
+    if (matrix.rows() != fst.length || matrix.cols() != scnd.length) {
+      throw new IllegalMathOperationException("Can not add %sx%s product to %sx%s matrix",
+                                              fst.length, scnd.length,
+                                              matrix.rows(), matrix.cols());
+    }
+    double[] c = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) fst.length * scnd.length)) {
+      policy.forEach(fst.length, (long) fst.length * scnd.length,
+          i -> KERNELS.axpy(alpha * fst[i], scnd, 0, c, matrix.index(i, 0), scnd.length));
+      return matrix;
+    }
+    for (int i = 0; i < fst.length; i++) {
+      KERNELS.axpy(alpha * fst[i], scnd, 0, c, matrix.index(i, 0), scnd.length);
+    }
+    return matrix;
+  }
+
+  /**
+   * Fused rank-1 update for the weights leading into a sigmoid layer,
+   * {@code matrix += alpha * (err * out * (1 - out)) * prev<pow>T</pow>}, where the products in
+   * the brackets are taken element by element. The gradient of each row is computed on the fly,
+   * so the matrix is updated in a single pass without an outer product or gradient buffer.
+   *
+   * @param alpha  the learning rate
+   * @param err    the error of the layer, M dimensions
+   * @param out    the sigmoid output of the layer, M dimensions
+   * @param prev   the output of the previous layer, N dimensions
+   * @param matrix the MxN weights to update
+   * @return matrix
+   */
+  public static DenseMatrix gerSigmoid(double alpha, double[] err, double[] out, double[] prev,
+                                       DenseMatrix matrix) {
+
+    if (matrix.rows() != err.length || matrix.rows() != out.length
+        || matrix.cols() != prev.length) {
+      throw new IllegalMathOperationException("Can not add %sx%s product to %sx%s matrix",
+                                              out.length, prev.length,
+                                              matrix.rows(), matrix.cols());
+    }
+    double[] c = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) out.length * prev.length)) {
+      policy.forEach(out.length, (long) out.length * prev.length, i -> KERNELS.axpy(
+          alpha * err[i] * out[i] * (1 - out[i]), prev, 0, c, matrix.index(i, 0), prev.length));
+      return matrix;
+    }
+    for (int i = 0; i < out.length; i++) {
+      double a = alpha * err[i] * out[i] * (1 - out[i]);
+      KERNELS.axpy(a, prev, 0, c, matrix.index(i, 0), prev.length);
+    }
+    return matrix;
+  }
+
+  /**
+   * Subtracts two vectors from one another and writes the result into dst.
+   *
+   * @param target the first vector
+   * @param out    the second vector
+   * @param dst    the vector receiving first vector minus second vector
+   * @return dst
+   */
+  public static double[] sub(double[] target, double[] out, double[] dst) {
+
+    if (target.length != out.length || target.length != dst.length) {
+      throw new IllegalMathOperationException(
+          "illegal operation on vertices of different length");
+    }
+    for (int i = 0; i < target.length; i++) {
+      dst[i] = target[i] - out[i];
+    }
+    return dst;
+  }
+
+  /**
+   * Subtract each instance in the target vector from n and writes the result into dst, the
+   * destination passing variant of {@link #sub(double[], double)}.
+   *
+   * @param target the target vector
+   * @param n      the amount to subtract each value from
+   * @param dst    the vector receiving the result
+   * @return dst
+   */
+  public static double[] sub(double[] target, double n, double[] dst) {
+
+    if (target.length != dst.length) {
+      throw new IllegalMathOperationException(
+          "illegal operation on vertices of different length");
+    }
+    for (int i = 0; i < target.length; i++) {
+      dst[i] = n - target[i];
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies two vectors element by element and writes the products into dst.
+   *
+   * @param fst first vector
+   * @param snd second vector
+   * @param dst the vector receiving the products, may be one of the operands
+   * @return dst
+   */
+  public static double[] multElements(double[] fst, double[] snd, double[] dst) {
+
+    if (fst.length != snd.length || fst.length != dst.length) {
+      throw new IllegalMathOperationException(
+          "illegal operation on vertices of different length");
+    }
+    for (int i = 0; i < fst.length; i++) {
+      dst[i] = fst[i] * snd[i];
+    }
+    return dst;
+  }
+
+  /*
+   * Single precision variants of the destination passing operations, see FloatMatrix.
+   */
+
+  /**
+   * Multiplies a MxN float matrix with a N-dimensional vector and writes the result into dst.
+   *
+   * @param matrix the weights matrix
+   * @param vector the input vector of N dimensions
+   * @param dst    the output vector of M dimensions
+   * @return dst
+   */
+  public static float[] mult(final FloatMatrix matrix, final float[] vector, float[] dst) {
+
+    checkGemv(matrix.rows(), matrix.cols(), vector.length, dst.length);
+    float[] data = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) dst.length * vector.length)) {
+      policy.forEach(dst.length, (long) dst.length * vector.length,
+          i -> dst[i] = KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length));
+      return dst;
+    }
+    for (int i = 0; i < dst.length; i++) {
+      dst[i] = KERNELS.dot(data, matrix.index(i, 0), vector, 0, vector.length);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies a MxN matrix of floats held in a buffer with a N-dimensional vector of doubles and
+   * writes the result into dst, see {@link #multDoubles(ByteBuffer, int, int, double[], double[])}.
+   * The products are summed in double precision, only the weights are stored as floats.
+   *
+   * @param matrix the weights matrix in row-major order
+   * @param rows   the amount of rows M
+   * @param cols   the amount of columns N
+   * @param vector the input vector of N dimensions
+   * @param dst    the output vector of M dimensions
+   * @return dst
+   */
+  public static double[] multFloats(final ByteBuffer matrix, int rows, int cols,
+                                    final double[] vector, double[] dst) {
+
+    checkBuffer(matrix, rows, cols, vector.length, dst.length, Float.BYTES);
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) rows * cols)) {
+      policy.forEach(rows, (long) rows * cols,
+          i -> dst[i] = KERNELS.dotFloats(matrix, i * cols, vector, 0, cols));
+      return dst;
+    }
+    for (int i = 0; i < rows; i++) {
+      dst[i] = KERNELS.dotFloats(matrix, i * cols, vector, 0, cols);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies a MxN matrix of signed bytes with a N-dimensional vector of unsigned bytes and
+   * writes the exact integer products into dst, the kernel of quantised inference.
+   *
+   * @param matrix the quantised weights in row-major order
+   * @param rows   the amount of rows M
+   * @param cols   the amount of columns N
+   * @param vector the unsigned input vector of N dimensions
+   * @param dst    the output vector of M dimensions
+   * @return dst
+   */
+  public static int[] mult(final byte[] matrix, int rows, int cols, final byte[] vector,
+                           int[] dst) {
+
+    checkGemv(rows, cols, vector.length, dst.length);
+    if (matrix.length != rows * cols) {
+      throw new IllegalMathOperationException("Array of %s values does not fit %sx%s matrix",
+                                              matrix.length, rows, cols);
+    }
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) rows * cols)) {
+      policy.forEach(rows, (long) rows * cols,
+          i -> dst[i] = KERNELS.dotUnsigned(matrix, i * cols, vector, 0, cols));
+      return dst;
+    }
+    for (int i = 0; i < rows; i++) {
+      dst[i] = KERNELS.dotUnsigned(matrix, i * cols, vector, 0, cols);
+    }
+    return dst;
+  }
+
+  /**
+   * Multiplies the transpose of a MxN float matrix with a M-dimensional vector and writes the
+   * result into dst.
+   *
+   * @param matrix the matrix
+   * @param vector the vector of M dimensions
+   * @param dst    the output vector of N dimensions
+   * @return dst
+   */
+  public static float[] multTrans(final FloatMatrix matrix, final float[] vector, float[] dst) {
+
+    checkGemv(matrix.cols(), matrix.rows(), vector.length, dst.length);
+    float[] data = matrix.data();
+    var policy = ExecutionPolicy.get();
+    long flops = (long) vector.length * dst.length;
+    if (policy.isParallel(flops)) {
+      // every task owns a block of output columns, see multTransParallel
+      policy.forEach(columnBlocks(dst.length), flops, b -> {
+        int from = b * COLUMN_BLOCK;
+        int to = Math.min(dst.length, from + COLUMN_BLOCK);
+        Arrays.fill(dst, from, to, 0);
+        for (int i = 0; i < vector.length; i++) {
+          KERNELS.axpy(vector[i], data, matrix.index(i, 0) + from, dst, from, to - from);
+        }
+      });
+      return dst;
+    }
+    Arrays.fill(dst, 0);
+    for (int i = 0; i < vector.length; i++) {
+      KERNELS.axpy(vector[i], data, matrix.index(i, 0), dst, 0, dst.length);
+    }
+    return dst;
+  }
+
+  /**
+   * Fused rank-1 update of the float weights leading into a sigmoid layer, see
+   * {@link #gerSigmoid(double, double[], double[], double[], DenseMatrix)}.
+   *
+   * @param alpha  the learning rate
+   * @param err    the error of the layer, M dimensions
+   * @param out    the sigmoid output of the layer, M dimensions
+   * @param prev   the output of the previous layer, N dimensions
+   * @param matrix the MxN weights to update
+   * @return matrix
+   */
+  public static FloatMatrix gerSigmoid(float alpha, float[] err, float[] out, float[] prev,
+                                       FloatMatrix matrix) {
+
+    if (matrix.rows() != err.length || matrix.rows() != out.length
+        || matrix.cols() != prev.length) {
+      throw new IllegalMathOperationException("Can not add %sx%s product to %sx%s matrix",
+                                              out.length, prev.length,
+                                              matrix.rows(), matrix.cols());
+    }
+    float[] c = matrix.data();
+    var policy = ExecutionPolicy.get();
+    if (policy.isParallel((long) out.length * prev.length)) {
+      policy.forEach(out.length, (long) out.length * prev.length, i -> KERNELS.axpy(
+          alpha * err[i] * out[i] * (1 - out[i]), prev, 0, c, matrix.index(i, 0), prev.length));
+      return matrix;
+    }
+    for (int i = 0; i < out.length; i++) {
+      float a = alpha * err[i] * out[i] * (1 - out[i]);
+      KERNELS.axpy(a, prev, 0, c, matrix.index(i, 0), prev.length);
+    }
+    return matrix;
+  }
+
+  /**
+   * Subtracts two float vectors from one another and writes the result into dst.
+   *
+   * @param target the first vector
+   * @param out    the second vector
+   * @param dst    the vector receiving first vector minus second vector
+   * @return dst
+   */
+  public static float[] sub(float[] target, float[] out, float[] dst) {
+
+    if (target.length != out.length || target.length != dst.length) {
+      throw new IllegalMathOperationException(
+          "illegal operation on vertices of different length");
+    }
+    for (int i = 0; i < target.length; i++) {
+      dst[i] = target[i] - out[i];
+    }
+    return dst;
+  }
+
   /**
    * Calculate the dotproduct of two vectors.
    *
@@ -264,11 +970,77 @@ public class Matrix {
     }
 
     double[] tmp = new double[fst.length];
-    IntStream.range(0, fst.length).parallel().forEach(i -> {
+    ExecutionPolicy.get().forEach(fst.length, fst.length, i -> {
       tmp[i] += fst[i] * snd[i];
     });
 
     return tmp;
   }
 
+  private static void checkGemv(int rows, int cols, int vectorLength, int dstLength) {
+
+    if (cols != vectorLength || rows != dstLength) {
+      throw new IllegalMathOperationException(
+          "Can not multiply %sx%s matrix with vector of size %s into vector of size %s",
+          rows, cols, vectorLength, dstLength);
+    }
+  }
+
+  private static void checkBuffer(ByteBuffer matrix, int rows, int cols, int vectorLength,
+                                  int dstLength, int bytes) {
+
+    checkGemv(rows, cols, vectorLength, dstLength);
+    if (matrix.limit() < (long) rows * cols * bytes) {
+      throw new IllegalMathOperationException("Buffer of %s bytes too small for %sx%s matrix",
+                                              matrix.limit(), rows, cols);
+    }
+  }
+
+  private static void checkSameSize(DenseMatrix fst, DenseMatrix scd) {
+
+    if (fst.rows() != scd.rows() || fst.cols() != scd.cols()) {
+      throw new IllegalMathOperationException(
+          "Invalid matrix size. Can not combine matrix of size %sx%s with %sx%s",
+          fst.rows(), fst.cols(), scd.rows(), scd.cols());
+    }
+  }
+
+  private static int columnBlocks(int n) {
+
+    return (n + COLUMN_BLOCK - 1) / COLUMN_BLOCK;
+  }
+
+  private static void addRow(DenseMatrix fst, DenseMatrix scd, DenseMatrix dst, int i) {
+
+    double[] a = fst.data();
+    double[] b = scd.data();
+    double[] c = dst.data();
+    int ra = fst.index(i, 0);
+    int rb = scd.index(i, 0);
+    int rc = dst.index(i, 0);
+    for (int j = 0; j < fst.cols(); j++) {
+      c[rc + j] = a[ra + j] + b[rb + j];
+    }
+  }
+
+  private static void scaleRow(double alpha, DenseMatrix matrix, DenseMatrix dst, int i) {
+
+    double[] a = matrix.data();
+    double[] c = dst.data();
+    int ra = matrix.index(i, 0);
+    int rc = dst.index(i, 0);
+    for (int j = 0; j < matrix.cols(); j++) {
+      c[rc + j] = a[ra + j] * alpha;
+    }
+  }
+
+  private static void outerRow(double[] fst, double[] scnd, DenseMatrix dst, int i) {
+
+    double[] c = dst.data();
+    int rc = dst.index(i, 0);
+    for (int j = 0; j < scnd.length; j++) {
+      c[rc + j] = fst[i] * scnd[j];
+    }
+  }
+
 }
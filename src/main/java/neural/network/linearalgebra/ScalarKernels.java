@@ -0,0 +1,113 @@
+package neural.network.linearalgebra;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops, see {@link Kernels}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+final class ScalarKernels extends Kernels {
+
+  static final ScalarKernels INSTANCE = new ScalarKernels();
+
+  private ScalarKernels() {
+
+  }
+
+  @Override
+  public String name() {
+
+    return "scalar";
+  }
+
+  @Override
+  public int lanes() {
+
+    return 1;
+  }
+
+  @Override
+  public double dot(double[] a, int aOff, double[] b, int bOff, int n) {
+
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += a[aOff + i] * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n) {
+
+    for (int i = 0; i < n; i++) {
+      y[yOff + i] += alpha * x[xOff + i];
+    }
+  }
+
+  @Override
+  public void sigmoid(double[] arr, int from, int to) {
+
+    for (int i = from; i < to; i++) {
+      arr[i] = 1 / (1 + Math.exp(-arr[i]));
+    }
+  }
+
+  @Override
+  public double dotDoubles(ByteBuffer a, int aOff, double[] b, int bOff, int n) {
+
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += a.getDouble((aOff + i) * Double.BYTES) * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public double dotFloats(ByteBuffer a, int aOff, double[] b, int bOff, int n) {
+
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += a.getFloat((aOff + i) * Float.BYTES) * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public float dot(float[] a, int aOff, float[] b, int bOff, int n) {
+
+    float sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += a[aOff + i] * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public void axpy(float alpha, float[] x, int xOff, float[] y, int yOff, int n) {
+
+    for (int i = 0; i < n; i++) {
+      y[yOff + i] += alpha * x[xOff + i];
+    }
+  }
+
+  @Override
+  public void sigmoid(float[] arr, int from, int to) {
+
+    for (int i = from; i < to; i++) {
+      arr[i] = (float) (1 / (1 + Math.exp(-arr[i])));
+    }
+  }
+
+  @Override
+  public int dotUnsigned(byte[] a, int aOff, byte[] b, int bOff, int n) {
+
+    int sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += a[aOff + i] * (b[bOff + i] & 0xff);
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,213 @@
+package neural.network.linearalgebra;
+
+import java.nio.ByteBuffer;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Loops over the widest SIMD registers of the CPU using the Vector API, see {@link Kernels}. The
+ * dot products keep one partial sum per lane, so their results may differ from the scalar kernels
+ * in the last bits.
+ *
+ * <p>Only loaded by {@link Kernels#vector()} once the module {@code jdk.incubator.vector} is known
+ * to be present.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+final class VectorKernels extends Kernels {
+
+  static final VectorKernels INSTANCE = new VectorKernels();
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+  // one byte per int lane, but at least the 64 bits of the narrowest shape, so a load of bytes
+  // widens into one or more int vectors
+  private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED
+      .withShape(VectorShape.forBitSize(Math.max(64, INTS.length() * Byte.SIZE)));
+  private static final int BYTE_PARTS = BYTES.length() / INTS.length();
+  // a load of floats widens into this many double vectors of the same shape
+  private static final int FLOAT_PARTS = FLOATS.length() / SPECIES.length();
+
+  private VectorKernels() {
+
+  }
+
+  @Override
+  public String name() {
+
+    return "vector-" + SPECIES.vectorBitSize();
+  }
+
+  @Override
+  public int lanes() {
+
+    return SPECIES.length();
+  }
+
+  @Override
+  public double dot(double[] a, int aOff, double[] b, int bOff, int n) {
+
+    var acc = DoubleVector.zero(SPECIES);
+    int bound = SPECIES.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      var va = DoubleVector.fromArray(SPECIES, a, aOff + i);
+      var vb = DoubleVector.fromArray(SPECIES, b, bOff + i);
+      acc = va.fma(vb, acc);
+    }
+    double sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < n; i++) {
+      sum += a[aOff + i] * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n) {
+
+    var va = DoubleVector.broadcast(SPECIES, alpha);
+    int bound = SPECIES.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      var vx = DoubleVector.fromArray(SPECIES, x, xOff + i);
+      var vy = DoubleVector.fromArray(SPECIES, y, yOff + i);
+      vx.fma(va, vy).intoArray(y, yOff + i);
+    }
+    for (; i < n; i++) {
+      y[yOff + i] += alpha * x[xOff + i];
+    }
+  }
+
+  @Override
+  public void sigmoid(double[] arr, int from, int to) {
+
+    var one = DoubleVector.broadcast(SPECIES, 1);
+    int bound = from + SPECIES.loopBound(to - from);
+    int i = from;
+    for (; i < bound; i += SPECIES.length()) {
+      var v = DoubleVector.fromArray(SPECIES, arr, i);
+      one.div(v.neg().lanewise(VectorOperators.EXP).add(one)).intoArray(arr, i);
+    }
+    for (; i < to; i++) {
+      arr[i] = 1 / (1 + Math.exp(-arr[i]));
+    }
+  }
+
+  @Override
+  public double dotDoubles(ByteBuffer a, int aOff, double[] b, int bOff, int n) {
+
+    var acc = DoubleVector.zero(SPECIES);
+    int bound = SPECIES.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += SPECIES.length()) {
+      var va = DoubleVector.fromByteBuffer(SPECIES, a, (aOff + i) * Double.BYTES, a.order());
+      var vb = DoubleVector.fromArray(SPECIES, b, bOff + i);
+      acc = va.fma(vb, acc);
+    }
+    double sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < n; i++) {
+      sum += a.getDouble((aOff + i) * Double.BYTES) * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public double dotFloats(ByteBuffer a, int aOff, double[] b, int bOff, int n) {
+
+    var acc = DoubleVector.zero(SPECIES);
+    int bound = FLOATS.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += FLOATS.length()) {
+      var va = FloatVector.fromByteBuffer(FLOATS, a, (aOff + i) * Float.BYTES, a.order());
+      for (int part = 0; part < FLOAT_PARTS; part++) {
+        var wide = (DoubleVector) va.convertShape(VectorOperators.F2D, SPECIES, part);
+        var vb = DoubleVector.fromArray(SPECIES, b, bOff + i + part * SPECIES.length());
+        acc = wide.fma(vb, acc);
+      }
+    }
+    double sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < n; i++) {
+      sum += a.getFloat((aOff + i) * Float.BYTES) * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public float dot(float[] a, int aOff, float[] b, int bOff, int n) {
+
+    var acc = FloatVector.zero(FLOATS);
+    int bound = FLOATS.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += FLOATS.length()) {
+      var va = FloatVector.fromArray(FLOATS, a, aOff + i);
+      var vb = FloatVector.fromArray(FLOATS, b, bOff + i);
+      acc = va.fma(vb, acc);
+    }
+    float sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < n; i++) {
+      sum += a[aOff + i] * b[bOff + i];
+    }
+    return sum;
+  }
+
+  @Override
+  public void axpy(float alpha, float[] x, int xOff, float[] y, int yOff, int n) {
+
+    var va = FloatVector.broadcast(FLOATS, alpha);
+    int bound = FLOATS.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += FLOATS.length()) {
+      var vx = FloatVector.fromArray(FLOATS, x, xOff + i);
+      var vy = FloatVector.fromArray(FLOATS, y, yOff + i);
+      vx.fma(va, vy).intoArray(y, yOff + i);
+    }
+    for (; i < n; i++) {
+      y[yOff + i] += alpha * x[xOff + i];
+    }
+  }
+
+  @Override
+  public void sigmoid(float[] arr, int from, int to) {
+
+    var one = FloatVector.broadcast(FLOATS, 1);
+    int bound = from + FLOATS.loopBound(to - from);
+    int i = from;
+    for (; i < bound; i += FLOATS.length()) {
+      var v = FloatVector.fromArray(FLOATS, arr, i);
+      one.div(v.neg().lanewise(VectorOperators.EXP).add(one)).intoArray(arr, i);
+    }
+    for (; i < to; i++) {
+      arr[i] = (float) (1 / (1 + Math.exp(-arr[i])));
+    }
+  }
+
+  @Override
+  public int dotUnsigned(byte[] a, int aOff, byte[] b, int bOff, int n) {
+
+    var acc = IntVector.zero(INTS);
+    int bound = BYTES.loopBound(n);
+    int i = 0;
+    for (; i < bound; i += BYTES.length()) {
+      var ba = ByteVector.fromArray(BYTES, a, aOff + i);
+      var bb = ByteVector.fromArray(BYTES, b, bOff + i);
+      for (int part = 0; part < BYTE_PARTS; part++) {
+        var va = ba.convertShape(VectorOperators.B2I, INTS, part).reinterpretAsInts();
+        var vb = bb.convertShape(VectorOperators.B2I, INTS, part).reinterpretAsInts()
+            .lanewise(VectorOperators.AND, 0xff);
+        acc = va.mul(vb).add(acc);
+      }
+    }
+    int sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < n; i++) {
+      sum += a[aOff + i] * (b[bOff + i] & 0xff);
+    }
+    return sum;
+  }
+
+}
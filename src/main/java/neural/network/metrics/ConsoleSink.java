@@ -0,0 +1,53 @@
+package neural.network.metrics;
+
+import java.time.Duration;
+import me.tongfei.progressbar.ProgressBar;
+import me.tongfei.progressbar.ProgressBarBuilder;
+import me.tongfei.progressbar.ProgressBarStyle;
+
+/**
+ * Shows the progress of a training run as a progress bar on the console, followed by the
+ * throughput, loss and accuracy of the last interval. The bar is redrawn by its own thread, so the
+ * training never waits for the console.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class ConsoleSink implements MetricsSink {
+
+  private ProgressBar bar;
+
+  @Override
+  public void start(int layers, long total, long done) {
+
+    close();
+    bar = new ProgressBarBuilder()
+        .setTaskName("Training")
+        .setInitialMax(total)
+        .setStyle(ProgressBarStyle.ASCII)
+        .setUpdateIntervalMillis(1000)
+        .startsFrom(done, Duration.ZERO)
+        .build();
+  }
+
+  @Override
+  public void report(MetricsSnapshot snapshot) {
+
+    if (bar == null) {
+      return;
+    }
+    bar.stepTo(snapshot.samples());
+    bar.setExtraMessage(String.format("%,.0f/s loss %.4f acc %5.1f%%", snapshot.samplesPerSecond(),
+                                      snapshot.loss(), snapshot.accuracy() * 100));
+  }
+
+  @Override
+  public void close() {
+
+    if (bar != null) {
+      bar.close();
+      bar = null;
+    }
+  }
+
+}
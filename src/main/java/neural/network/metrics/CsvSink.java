@@ -0,0 +1,95 @@
+package neural.network.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes one line of comma separated values per report into a file, e.g. to plot the loss of a
+ * run. The file starts with a header naming the columns, the times of the layers are the last
+ * columns, first the forward passes, then the error propagations and the weight corrections of
+ * every layer.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class CsvSink implements MetricsSink {
+
+  private final Path path;
+  private BufferedWriter out;
+
+  /**
+   * Creates a sink writing to the given file, which is replaced when the training starts.
+   *
+   * @param path the path of the file
+   */
+  public CsvSink(Path path) {
+
+    this.path = path;
+  }
+
+  @Override
+  public void start(int layers, long total, long done) {
+
+    close();
+    var header = new StringBuilder("samples,total,seconds,samples_per_second,loss,accuracy,"
+                                   + "allocated_bytes_per_second,gc_count,gc_millis");
+    for (String phase : new String[] { "forward", "backward", "update" }) {
+      for (int l = 0; l < layers; l++) {
+        header.append(',').append(phase).append("_nanos_").append(l);
+      }
+    }
+    try {
+      out = Files.newBufferedWriter(path);
+      out.write(header.toString());
+      out.newLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void report(MetricsSnapshot snapshot) {
+
+    if (out == null) {
+      return;
+    }
+    var line = new StringBuilder(String.format(
+        Locale.ROOT, "%d,%d,%.3f,%.1f,%.6f,%.6f,%.0f,%d,%d", snapshot.samples(), snapshot.total(),
+        snapshot.elapsedNanos() / 1e9, snapshot.samplesPerSecond(), snapshot.loss(),
+        snapshot.accuracy(), snapshot.allocatedBytesPerSecond(), snapshot.gcCount(),
+        snapshot.gcMillis()));
+    for (long[] nanos : new long[][] { snapshot.forwardNanos(), snapshot.backwardNanos(),
+                                       snapshot.updateNanos() }) {
+      for (long value : nanos) {
+        line.append(',').append(value);
+      }
+    }
+    try {
+      out.write(line.toString());
+      out.newLine();
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+
+    if (out == null) {
+      return;
+    }
+    try {
+      out.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      out = null;
+    }
+  }
+
+}
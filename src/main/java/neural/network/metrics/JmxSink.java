@@ -0,0 +1,140 @@
+package neural.network.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes the last report of a training run as the MXBean {@link TrainingMXBean} on the platform
+ * MBean server, so a running training can be watched with JConsole or VisualVM. The bean is
+ * registered when the sink is created and unregistered when it is closed.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class JmxSink implements MetricsSink, TrainingMXBean {
+
+  /**
+   * The default name of the bean.
+   */
+  public static final String NAME = "neural.network:type=Training";
+
+  private static final long[] NONE = new long[0];
+  private static final MetricsSnapshot EMPTY = new MetricsSnapshot(0, 0, 0, 0, Double.NaN,
+                                                                   Double.NaN, NONE, NONE, NONE,
+                                                                   0, 0, 0);
+
+  private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+  private final ObjectName name;
+  private volatile MetricsSnapshot last = EMPTY;
+
+  /**
+   * Creates a sink registered under {@value #NAME}.
+   */
+  public JmxSink() {
+
+    this(NAME);
+  }
+
+  /**
+   * Creates a sink registered under the given name.
+   *
+   * @param name the object name of the bean
+   * @throws IllegalArgumentException if the name is invalid or already registered
+   */
+  public JmxSink(String name) {
+
+    try {
+      this.name = new ObjectName(name);
+      server.registerMBean(this, this.name);
+    } catch (JMException e) {
+      throw new IllegalArgumentException("Can not register the training metrics as " + name, e);
+    }
+  }
+
+  @Override
+  public void report(MetricsSnapshot snapshot) {
+
+    last = snapshot;
+  }
+
+  @Override
+  public void close() {
+
+    try {
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("Can not unregister " + name, e);
+    }
+  }
+
+  @Override
+  public long getSamples() {
+
+    return last.samples();
+  }
+
+  @Override
+  public long getTotal() {
+
+    return last.total();
+  }
+
+  @Override
+  public double getSamplesPerSecond() {
+
+    return last.samplesPerSecond();
+  }
+
+  @Override
+  public double getLoss() {
+
+    return last.loss();
+  }
+
+  @Override
+  public double getAccuracy() {
+
+    return last.accuracy();
+  }
+
+  @Override
+  public long[] getForwardNanos() {
+
+    return last.forwardNanos().clone();
+  }
+
+  @Override
+  public long[] getBackwardNanos() {
+
+    return last.backwardNanos().clone();
+  }
+
+  @Override
+  public long[] getUpdateNanos() {
+
+    return last.updateNanos().clone();
+  }
+
+  @Override
+  public double getAllocatedBytesPerSecond() {
+
+    return last.allocatedBytesPerSecond();
+  }
+
+  @Override
+  public long getGcCount() {
+
+    return last.gcCount();
+  }
+
+  @Override
+  public long getGcMillis() {
+
+    return last.gcMillis();
+  }
+
+}
@@ -0,0 +1,39 @@
+package neural.network.metrics;
+
+/**
+ * Receives the metrics of a training run, see {@link TrainingMetrics}. All methods are called by
+ * the training thread, a sink which does more than a few microseconds of work per report should
+ * hand it off.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public interface MetricsSink extends AutoCloseable {
+
+  /**
+   * Called once when the training starts.
+   *
+   * @param layers the amount of layers of the network
+   * @param total  the amount of samples of the whole run
+   * @param done   the amount of samples done before, e.g. by an interrupted run
+   */
+  default void start(int layers, long total, long done) {
+
+  }
+
+  /**
+   * Called at the end of every reporting interval and once when the training ends.
+   *
+   * @param snapshot the metrics of the interval
+   */
+  void report(MetricsSnapshot snapshot);
+
+  /**
+   * Releases the resources of the sink.
+   */
+  @Override
+  default void close() {
+
+  }
+
+}
@@ -0,0 +1,44 @@
+package neural.network.metrics;
+
+/**
+ * The metrics of a training run at the end of a reporting interval, see {@link TrainingMetrics}.
+ * Rates, times, loss and accuracy refer to the interval, the amount of samples to the whole run.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ *
+ * @param samples                 the amount of samples trained on so far, including the samples
+ *                                of a continued run
+ * @param total                   the amount of samples of the whole run
+ * @param elapsedNanos            the time since the training started
+ * @param samplesPerSecond        the samples trained on per second
+ * @param loss                    the mean of the squared errors of the output layer halved, NaN
+ *                                if no sample was scored
+ * @param accuracy                the share of samples whose most likely output node was the
+ *                                lable, NaN if no sample was scored
+ * @param forwardNanos            the mean time per sample of the forward pass of every layer
+ * @param backwardNanos           the mean time per sample of the error propagation of every
+ *                                layer
+ * @param updateNanos             the mean time per sample of the weight correction of every
+ *                                layer
+ * @param allocatedBytesPerSecond the bytes allocated per second by the training thread, -1 if
+ *                                the JVM does not measure it
+ * @param gcCount                 the amount of garbage collections
+ * @param gcMillis                the time spent in garbage collections
+ */
+public record MetricsSnapshot(long samples, long total, long elapsedNanos, double samplesPerSecond,
+                              double loss, double accuracy, long[] forwardNanos,
+                              long[] backwardNanos, long[] updateNanos,
+                              double allocatedBytesPerSecond, long gcCount, long gcMillis) {
+
+  /**
+   * The amount of layers with times.
+   *
+   * @return the length of the arrays of times
+   */
+  public int layers() {
+
+    return forwardNanos.length;
+  }
+
+}
@@ -0,0 +1,34 @@
+package neural.network.metrics;
+
+/**
+ * The metrics of the last reporting interval of a training run as seen by JMX clients like
+ * JConsole, see {@link JmxSink} and {@link MetricsSnapshot}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public interface TrainingMXBean {
+
+  long getSamples();
+
+  long getTotal();
+
+  double getSamplesPerSecond();
+
+  double getLoss();
+
+  double getAccuracy();
+
+  long[] getForwardNanos();
+
+  long[] getBackwardNanos();
+
+  long[] getUpdateNanos();
+
+  double getAllocatedBytesPerSecond();
+
+  long getGcCount();
+
+  long getGcMillis();
+
+}
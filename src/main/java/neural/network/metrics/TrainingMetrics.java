@@ -0,0 +1,324 @@
+package neural.network.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import neural.network.linearalgebra.DenseMatrix;
+
+/**
+ * Collects the metrics of a training run and hands a {@link MetricsSnapshot} to every
+ * {@link MetricsSink} once per reporting interval: the throughput, the time of the forward pass,
+ * the error propagation and the weight correction of every layer, the loss and accuracy of the
+ * trained samples, and the allocation and garbage collection of the JVM.
+ *
+ * <p>Recording is cheap: a trainer calls {@link #step(long)} once per step, which reads the clock
+ * and only builds a snapshot when the interval has passed. The times of the layers cost two clock
+ * reads per layer and phase, the loss a pass over the output layer. A collector is used by the
+ * training thread only and is not thread safe.</p>
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+public final class TrainingMetrics implements AutoCloseable {
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private final long everyNanos;
+  private final List<MetricsSink> sinks;
+  private long total;
+  private long samples;
+  private long startNanos;
+  private boolean reported;
+  // the running interval
+  private long intervalNanos;
+  private long intervalSamples;
+  private long scored;
+  private long correct;
+  private double loss;
+  private long[] forward = new long[0];
+  private long[] backward = new long[0];
+  private long[] update = new long[0];
+  private long allocated;
+  private long gcCount;
+  private long gcMillis;
+
+  /**
+   * Creates a collector reporting to the given sinks.
+   *
+   * @param everyMillis the time between two reports
+   * @param sinks       the sinks receiving the reports
+   */
+  public TrainingMetrics(long everyMillis, MetricsSink... sinks) {
+
+    if (everyMillis < 1) {
+      throw new IllegalArgumentException("Invalid reporting interval of " + everyMillis + " ms");
+    }
+    this.everyNanos = TimeUnit.MILLISECONDS.toNanos(everyMillis);
+    this.sinks = List.of(sinks);
+  }
+
+  /**
+   * A collector showing a progress bar on the console once a second.
+   *
+   * @return the collector
+   */
+  public static TrainingMetrics console() {
+
+    return new TrainingMetrics(1000, new ConsoleSink());
+  }
+
+  /**
+   * Starts the recording of a training run.
+   *
+   * @param layers the amount of layers of the network
+   * @param total  the amount of samples of the whole run
+   * @param done   the amount of samples done before, e.g. by an interrupted run
+   */
+  public void start(int layers, long total, long done) {
+
+    this.total = total;
+    this.samples = done;
+    this.forward = new long[layers];
+    this.backward = new long[layers];
+    this.update = new long[layers];
+    this.startNanos = System.nanoTime();
+    this.reported = false;
+    resetInterval(startNanos);
+    for (MetricsSink sink : sinks) {
+      sink.start(layers, total, done);
+    }
+  }
+
+  /**
+   * Adds the time since the given time to the forward pass of a layer.
+   *
+   * @param layer the index of the layer
+   * @param since the value of {@link System#nanoTime()} at the start of the pass
+   * @return the current value of {@link System#nanoTime()}
+   */
+  public long forward(int layer, long since) {
+
+    long now = System.nanoTime();
+    forward[layer] += now - since;
+    return now;
+  }
+
+  /**
+   * Adds the time since the given time to the error propagation of a layer.
+   *
+   * @param layer the index of the layer
+   * @param since the value of {@link System#nanoTime()} at the start of the propagation
+   * @return the current value of {@link System#nanoTime()}
+   */
+  public long backward(int layer, long since) {
+
+    long now = System.nanoTime();
+    backward[layer] += now - since;
+    return now;
+  }
+
+  /**
+   * Adds the time since the given time to the weight correction of a layer.
+   *
+   * @param layer the index of the layer
+   * @param since the value of {@link System#nanoTime()} at the start of the correction
+   * @return the current value of {@link System#nanoTime()}
+   */
+  public long update(int layer, long since) {
+
+    long now = System.nanoTime();
+    update[layer] += now - since;
+    return now;
+  }
+
+  /**
+   * Scores a single sample by the errors and outputs of the output layer.
+   *
+   * @param err the errors of the output layer, {@code target - out}
+   * @param out the outputs of the output layer
+   * @param lbl the lable of the sample
+   */
+  public void score(double[] err, double[] out, int lbl) {
+
+    double sum = 0;
+    int best = 0;
+    for (int i = 0; i < out.length; i++) {
+      sum += err[i] * err[i];
+      best = out[i] > out[best] ? i : best;
+    }
+    loss += sum / 2;
+    correct += best == lbl ? 1 : 0;
+    scored++;
+  }
+
+  /**
+   * Scores a single sample of single precision, see {@link #score(double[], double[], int)}.
+   *
+   * @param err the errors of the output layer, {@code target - out}
+   * @param out the outputs of the output layer
+   * @param lbl the lable of the sample
+   */
+  public void score(float[] err, float[] out, int lbl) {
+
+    double sum = 0;
+    int best = 0;
+    for (int i = 0; i < out.length; i++) {
+      sum += (double) err[i] * err[i];
+      best = out[i] > out[best] ? i : best;
+    }
+    loss += sum / 2;
+    correct += best == lbl ? 1 : 0;
+    scored++;
+  }
+
+  /**
+   * Scores the samples of a mini-batch, one row per sample, see
+   * {@link #score(double[], double[], int)}.
+   *
+   * @param err    the errors of the output layer, {@code target - out}
+   * @param out    the outputs of the output layer
+   * @param lbls   the lables of the samples
+   * @param offset the index of the lable of the first row
+   */
+  public void score(DenseMatrix err, DenseMatrix out, short[] lbls, int offset) {
+
+    double[] e = err.data();
+    double[] o = out.data();
+    for (int b = 0; b < out.rows(); b++) {
+      int re = err.index(b, 0);
+      int ro = out.index(b, 0);
+      double sum = 0;
+      int best = 0;
+      for (int i = 0; i < out.cols(); i++) {
+        sum += e[re + i] * e[re + i];
+        best = o[ro + i] > o[ro + best] ? i : best;
+      }
+      loss += sum / 2;
+      correct += best == lbls[offset + b] ? 1 : 0;
+    }
+    scored += out.rows();
+  }
+
+  /**
+   * Ends a training step and reports the interval to the sinks if it has passed.
+   *
+   * @param stepSamples the amount of samples of the step
+   */
+  public void step(long stepSamples) {
+
+    samples += stepSamples;
+    intervalSamples += stepSamples;
+    long now = System.nanoTime();
+    if (now - intervalNanos >= everyNanos) {
+      report(now);
+    }
+  }
+
+  /**
+   * Reports the last interval of the training when the training ends, unless it is empty.
+   */
+  public void finish() {
+
+    if (intervalSamples > 0 || !reported) {
+      report(System.nanoTime());
+    }
+  }
+
+  /**
+   * The amount of samples trained on so far.
+   *
+   * @return the samples, including the samples done before the start
+   */
+  public long samples() {
+
+    return samples;
+  }
+
+  /**
+   * Closes all sinks.
+   */
+  @Override
+  public void close() {
+
+    for (MetricsSink sink : sinks) {
+      sink.close();
+    }
+  }
+
+  private void report(long now) {
+
+    long nanos = Math.max(1, now - intervalNanos);
+    double seconds = nanos / 1e9;
+    long perSample = Math.max(1, intervalSamples);
+    long bytes = allocatedBytes();
+    long[] gc = gc();
+    var snapshot = new MetricsSnapshot(
+        samples, total, now - startNanos, intervalSamples / seconds,
+        scored == 0 ? Double.NaN : loss / scored,
+        scored == 0 ? Double.NaN : correct / (double) scored,
+        perSample(forward, perSample), perSample(backward, perSample),
+        perSample(update, perSample),
+        bytes < 0 || allocated < 0 ? -1 : (bytes - allocated) / seconds,
+        gc[0] - gcCount, gc[1] - gcMillis);
+    for (MetricsSink sink : sinks) {
+      sink.report(snapshot);
+    }
+    reported = true;
+    resetInterval(now);
+  }
+
+  private void resetInterval(long now) {
+
+    intervalNanos = now;
+    intervalSamples = 0;
+    scored = 0;
+    correct = 0;
+    loss = 0;
+    Arrays.fill(forward, 0);
+    Arrays.fill(backward, 0);
+    Arrays.fill(update, 0);
+    allocated = allocatedBytes();
+    long[] gc = gc();
+    gcCount = gc[0];
+    gcMillis = gc[1];
+  }
+
+  private static long[] perSample(long[] nanos, long samples) {
+
+    long[] mean = new long[nanos.length];
+    for (int l = 0; l < nanos.length; l++) {
+      mean[l] = nanos[l] / samples;
+    }
+    return mean;
+  }
+
+  /**
+   * The bytes allocated by the current thread so far, -1 if not supported by the JVM.
+   */
+  private static long allocatedBytes() {
+
+    if (THREADS instanceof com.sun.management.ThreadMXBean threads
+        && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+      return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  /**
+   * The amount and the time in milliseconds of all garbage collections so far.
+   */
+  private static long[] gc() {
+
+    long count = 0;
+    long millis = 0;
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, bean.getCollectionCount());
+      millis += Math.max(0, bean.getCollectionTime());
+    }
+    return new long[] { count, millis };
+  }
+
+}
@@ -0,0 +1,121 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import neural.network.activation.Sigmoid;
+import neural.network.data.EpochSampler;
+import neural.network.data.SyntheticDigits;
+import neural.network.linearalgebra.FloatMatrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FloatNeuralNet} against the double precision {@link NeuralNet}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class FloatNeuralNetTest {
+
+  private static final int PIXELS = 64;
+  private static final int CLASSES = 10;
+
+  private final Random rand = new Random(20);
+
+  /**
+   * Test for {@link FloatNeuralNet#processAndCorrect(float, float[], short)} against
+   * {@link NeuralNet#processAndCorrect(double, double[], short)}.
+   **/
+  @Test
+  /*default*/ void testProcessAndCorrect() {
+
+    var net = NeuralNet.builder(PIXELS).layer(32).layer(16).layer(CLASSES).random(rand).build();
+    var floats = FloatNeuralNet.of(net.weights(), Sigmoid.EXACT);
+    for (int i = 0; i < 50; i++) {
+      double[] img = rand.doubles(PIXELS).toArray();
+      short lbl = (short) rand.nextInt(CLASSES);
+      net.processAndCorrect(.5, img, lbl);
+      floats.processAndCorrect(.5f, toFloats(img), lbl);
+    }
+    for (int l = 0; l < 3; l++) {
+      assertArrayEquals(FloatMatrix.of(net.weights().get(l)).data(),
+                        floats.weights().get(l).data(), 1e-4f);
+    }
+    double[] img = rand.doubles(PIXELS).toArray();
+    assertArrayEquals(toFloats(net.assess(img)), floats.assess(toFloats(img)), 1e-5f);
+  }
+
+  /**
+   * Test for the accuracy of {@link FloatNeuralNet#train} against the double network trained on
+   * the same images in the same order.
+   **/
+  @Test
+  /*default*/ void testAccuracy() {
+
+    var digits = new SyntheticDigits(CLASSES, PIXELS, .3, rand);
+    var train = digits.dataset(3000);
+    var test = digits.dataset(1000);
+
+    var net = NeuralNet.builder(PIXELS).layer(24).layer(CLASSES).random(rand).build();
+    var floats = FloatNeuralNet.of(net.weights(), Sigmoid.EXACT);
+    floats.train(train, 2, .3f, 42, 0, null, null);
+    double[] img = new double[PIXELS];
+    var sampler = new EpochSampler(train.size(), 42);
+    for (int i = 0; i < 2 * train.size(); i++) {
+      int index = sampler.getAsInt();
+      train.image(index, img, 0);
+      net.processAndCorrect(.3, img, train.lable(index));
+    }
+
+    int correct = 0;
+    int agree = 0;
+    float[] pixels = new float[PIXELS];
+    var model = net.freeze();
+    for (int i = 0; i < test.size(); i++) {
+      test.image(i, img, 0);
+      test.image(i, pixels, 0);
+      int expected = model.classify(img);
+      int actual = floats.classify(pixels);
+      correct += actual == test.lable(i) ? 1 : 0;
+      agree += actual == expected ? 1 : 0;
+    }
+    assertTrue(correct > .9 * test.size(), "accuracy " + correct);
+    assertTrue(agree > .99 * test.size(), "agreement " + agree);
+    assertEquals(PIXELS, floats.denseWeights().get(0).cols());
+  }
+
+  /**
+   * Test for {@link FloatNeuralNet#evaluate(neural.network.data.Dataset)} against
+   * {@link FloatNeuralNet#classify(float[])} of every image.
+   **/
+  @Test
+  /*default*/ void testEvaluate() {
+
+    // more than one chunk, the last one partial
+    var test = new SyntheticDigits(CLASSES, PIXELS, .3, rand).dataset(600);
+    var net = NeuralNet.builder(PIXELS).layer(24).layer(CLASSES).random(rand).build();
+    var floats = FloatNeuralNet.of(net.weights(), Sigmoid.EXACT);
+
+    int[][] expected = new int[CLASSES][CLASSES];
+    float[] pixels = new float[PIXELS];
+    for (int i = 0; i < test.size(); i++) {
+      test.image(i, pixels, 0);
+      expected[test.lable(i)][floats.classify(pixels)]++;
+    }
+    var evaluation = floats.evaluate(test);
+    assertArrayEquals(expected, evaluation.confusion());
+    assertEquals(test.size(), evaluation.images());
+  }
+
+  private float[] toFloats(double[] arr) {
+
+    float[] tmp = new float[arr.length];
+    for (int i = 0; i < arr.length; i++) {
+      tmp[i] = (float) arr[i];
+    }
+    return tmp;
+  }
+
+}
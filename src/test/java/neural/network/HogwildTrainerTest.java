@@ -0,0 +1,57 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import neural.network.data.Dataset;
+import neural.network.data.SyntheticDigits;
+import neural.network.metrics.MetricsSnapshot;
+import neural.network.metrics.TrainingMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HogwildTrainer}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class HogwildTrainerTest {
+
+  private static final int PIXELS = 32;
+  private static final int CLASSES = 10;
+
+  private final Random rand = new Random(8);
+
+  /**
+   * Test for {@link HogwildTrainer#train(Dataset, long, double, long, TrainingMetrics)}.
+   **/
+  @Test
+  /*default*/ void testTrain() {
+
+    var digits = new SyntheticDigits(CLASSES, PIXELS, .2, rand);
+    var train = digits.dataset(2000);
+    var test = digits.dataset(500);
+    var net = NeuralNet.builder(PIXELS).layer(16).layer(CLASSES).random(rand).build();
+    List<MetricsSnapshot> reports = new ArrayList<>();
+    // reports only when the training ends
+    var metrics = new TrainingMetrics(Long.MAX_VALUE / 1_000_000, reports::add);
+
+    new HogwildTrainer(net, 3).train(train, 3L * train.size(), .3, 7, metrics);
+    assertEquals(1, reports.size());
+    assertEquals(3L * train.size(), reports.get(0).samples());
+    assertEquals(3L * train.size(), reports.get(0).total());
+
+    var model = net.freeze();
+    int correct = 0;
+    double[] img = new double[PIXELS];
+    for (int i = 0; i < test.size(); i++) {
+      test.image(i, img, 0);
+      correct += model.classify(img) == test.lable(i) ? 1 : 0;
+    }
+    assertTrue(correct > .9 * test.size(), "accuracy " + correct);
+  }
+
+}
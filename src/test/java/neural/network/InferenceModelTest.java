@@ -0,0 +1,173 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import neural.network.data.ArrayDataset;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link InferenceModel}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class InferenceModelTest {
+
+  private final Random rand = new Random(3);
+
+  /**
+   * Test for {@link NeuralNet#freeze()}.
+   **/
+  @Test
+  /*default*/ void testFrozenCopy() {
+
+    var net = newNet();
+    double[] img = image();
+    var model = net.freeze();
+    double[] expected = net.assess(img);
+
+    net.processAndCorrect(1, img, (short) 3);
+    assertArrayEquals(expected, model.assess(img), 1e-12);
+  }
+
+  /**
+   * Test for {@link InferenceModel#assess(double[], double[])} from several threads at once.
+   **/
+  @Test
+  /*default*/ void testConcurrentAssess() throws Exception {
+
+    var net = newNet();
+    var model = net.freeze();
+    double[][] images = new double[64][];
+    double[][] expected = new double[64][];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = image();
+      expected[i] = net.assess(images[i]);
+    }
+
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        tasks.add(() -> {
+          double[] out = new double[model.outputSize()];
+          for (int r = 0; r < 200; r++) {
+            for (int i = 0; i < images.length; i++) {
+              model.assess(images[i], out);
+              for (int k = 0; k < out.length; k++) {
+                if (Math.abs(out[k] - expected[i][k]) > 1e-12) {
+                  return false;
+                }
+              }
+            }
+          }
+          return true;
+        });
+      }
+      for (Future<Boolean> future : executor.invokeAll(tasks)) {
+        assertEquals(true, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Test for {@link InferenceModel#assessBatch(double[][])} and
+   * {@link InferenceModel#classifyBatch(double[][])}.
+   **/
+  @Test
+  /*default*/ void testBatch() {
+
+    var model = newNet().freeze();
+    double[][] images = new double[600][];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = image();
+    }
+
+    var out = model.assessBatch(images);
+    int[] lables = model.classifyBatch(images);
+    assertArrayEquals(out.data(), model.assessBatch(DenseMatrix.of(images)).data(), 1e-12);
+    double[][] rows = out.toArray();
+    for (int i = 0; i < images.length; i++) {
+      assertArrayEquals(model.assess(images[i]), rows[i], 1e-12);
+      assertEquals(model.classify(images[i]), lables[i]);
+    }
+  }
+
+  /**
+   * Test for {@link InferenceModel#evaluate(neural.network.data.Dataset)} against
+   * {@link InferenceModel#classify(double[])}.
+   **/
+  @Test
+  /*default*/ void testEvaluate() {
+
+    var model = newNet().freeze();
+    int size = 1000;
+    double[] images = new double[size * NeuralNet.IMAGE_SIZE];
+    byte[] lables = new byte[size];
+    int[][] expected = new int[10][10];
+    for (int i = 0; i < size; i++) {
+      double[] img = image();
+      System.arraycopy(img, 0, images, i * img.length, img.length);
+      lables[i] = (byte) rand.nextInt(10);
+      expected[lables[i]][model.classify(img)]++;
+    }
+    var set = new ArrayDataset(images, lables, NeuralNet.IMAGE_SIZE);
+
+    var previous = ExecutionPolicy.get();
+    try {
+      for (var policy : List.of(ExecutionPolicy.sequential(), ExecutionPolicy.parallel(3))) {
+        ExecutionPolicy.set(policy);
+        var result = model.evaluate(set);
+        assertArrayEquals(expected, result.confusion(), policy.toString());
+        assertEquals(size, result.images());
+        int correct = 0;
+        for (int l = 0; l < 10; l++) {
+          correct += expected[l][l];
+        }
+        assertEquals(correct / (double) size, result.accuracy());
+        assertTrue(result.imagesPerSecond() > 0);
+      }
+    } finally {
+      ExecutionPolicy.set(previous);
+    }
+    assertThrows(IllegalArgumentException.class,
+                 () -> model.evaluate(new ArrayDataset(new double[20], new byte[2], 10)));
+    assertThrows(IllegalArgumentException.class, () -> model.evaluate(
+        new ArrayDataset(new double[NeuralNet.IMAGE_SIZE], new byte[] { 10 },
+                         NeuralNet.IMAGE_SIZE)));
+  }
+
+  private NeuralNet newNet() {
+
+    double[][] fst = new double[88][NeuralNet.IMAGE_SIZE];
+    double[][] scnd = new double[29][88];
+    double[][] fnl = new double[10][29];
+    for (double[][] weights : new double[][][] { fst, scnd, fnl }) {
+      for (double[] row : weights) {
+        for (int j = 0; j < row.length; j++) {
+          row[j] = rand.nextDouble() - .5;
+        }
+      }
+    }
+    return new NeuralNet(fst, scnd, fnl);
+  }
+
+  private double[] image() {
+
+    return rand.doubles(NeuralNet.IMAGE_SIZE).toArray();
+  }
+
+}
@@ -0,0 +1,93 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import neural.network.io.ModelFile;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.FloatMatrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MappedModel}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class MappedModelTest {
+
+  private final Random rand = new Random(5);
+
+  /**
+   * Test for {@link MappedModel#assess(double[])} against {@link NeuralNet#assess(double[])}.
+   **/
+  @Test
+  /*default*/ void testAssess() throws IOException {
+
+    var fst = random(88, NeuralNet.IMAGE_SIZE);
+    var scnd = random(29, 88);
+    var fnl = random(10, 29);
+    var net = new NeuralNet(fst, scnd, fnl);
+    var path = Files.createTempFile("model", ".nnw");
+    path.toFile().deleteOnExit();
+    ModelFile.write(path, List.of(fst, scnd, fnl));
+
+    var model = MappedModel.open(path);
+    assertEquals(NeuralNet.IMAGE_SIZE, model.inputSize());
+    assertEquals(10, model.outputSize());
+    for (int i = 0; i < 20; i++) {
+      double[] img = rand.doubles(NeuralNet.IMAGE_SIZE).toArray();
+      double[] expected = net.assess(img);
+      assertArrayEquals(expected, model.assess(img), 1e-12);
+      assertEquals(net.freeze().classify(img), model.classify(img));
+    }
+  }
+
+  /**
+   * Test for {@link MappedModel#assess(double[])} of a file of float weights.
+   **/
+  @Test
+  /*default*/ void testAssessFloat() throws IOException {
+
+    var fst = FloatMatrix.of(random(29, NeuralNet.IMAGE_SIZE));
+    var fnl = FloatMatrix.of(random(10, 29));
+    var net = new NeuralNet(List.of(fst.toDense(), fnl.toDense()));
+    var path = Files.createTempFile("model", ".nnw");
+    path.toFile().deleteOnExit();
+    ModelFile.writeFloat(path, List.of(fst, fnl));
+
+    var model = MappedModel.open(path);
+    for (int i = 0; i < 20; i++) {
+      double[] img = rand.doubles(NeuralNet.IMAGE_SIZE).toArray();
+      assertArrayEquals(net.assess(img), model.assess(img), 1e-12);
+    }
+  }
+
+  /**
+   * Test for {@link MappedModel#open(Path)} with layers that do not fit together.
+   **/
+  @Test
+  /*default*/ void testMismatchedLayers() throws IOException {
+
+    var path = Files.createTempFile("model", ".nnw");
+    path.toFile().deleteOnExit();
+    ModelFile.write(path, List.of(random(4, 6), random(3, 5)));
+    assertThrows(IllegalArgumentException.class, () -> MappedModel.open(path));
+  }
+
+  private DenseMatrix random(int rows, int cols) {
+
+    var matrix = new DenseMatrix(rows, cols);
+    for (int i = 0; i < matrix.data().length; i++) {
+      matrix.data()[i] = rand.nextDouble() - .5;
+    }
+    return matrix;
+  }
+
+}
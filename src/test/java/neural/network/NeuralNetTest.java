@@ -0,0 +1,152 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import neural.network.data.ArrayDataset;
+import neural.network.data.Dataset;
+import neural.network.io.Checkpointer;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.metrics.TrainingMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NeuralNet} with layer stacks of different depth.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class NeuralNetTest {
+
+  private final Random rand = new Random(17);
+
+  /**
+   * Test for {@link NeuralNet#builder(int)}.
+   **/
+  @Test
+  /*default*/ void testBuilder() {
+
+    var net = NeuralNet.builder(12).layer(9).layer(7).layer(5).layer(3).random(rand).build();
+
+    assertEquals(4, net.layers().size());
+    assertEquals(12, net.layers().get(0).inputs());
+    assertEquals(7, net.layers().get(1).outputs());
+    assertEquals(3, net.assess(image(12)).length);
+    assertEquals(3, net.freeze().outputSize());
+    assertThrows(IllegalArgumentException.class, () -> NeuralNet.builder(12).layer(0));
+  }
+
+  /**
+   * Test for {@link NeuralNet#NeuralNet(List)} with layers that do not fit together.
+   **/
+  @Test
+  /*default*/ void testMismatchedLayers() {
+
+    assertThrows(IllegalArgumentException.class,
+                 () -> new NeuralNet(List.of(new DenseMatrix(4, 6), new DenseMatrix(3, 5))));
+    assertThrows(IllegalArgumentException.class, () -> new NeuralNet(List.of()));
+  }
+
+  /**
+   * Test for {@link NeuralNet#processAndCorrect(double, DenseMatrix, short[])} with a single image
+   * against {@link NeuralNet#processAndCorrect(double, double[], short)}, for different depths.
+   **/
+  @Test
+  /*default*/ void testBatchOfOne() {
+
+    for (int depth = 1; depth <= 5; depth++) {
+      var builder = NeuralNet.builder(20);
+      for (int l = 1; l < depth; l++) {
+        builder.layer(20 - 2 * l);
+      }
+      var sample = builder.layer(4).random(new Random(depth)).build();
+      var batch = new NeuralNet(copy(sample.weights()));
+
+      for (int i = 0; i < 10; i++) {
+        double[] img = image(20);
+        short lbl = (short) rand.nextInt(4);
+        sample.processAndCorrect(.5, img, lbl);
+        batch.processAndCorrect(.5, new DenseMatrix(1, 20, img), new short[] { lbl });
+      }
+      for (int l = 0; l < depth; l++) {
+        assertArrayEquals(sample.weights().get(l).data(), batch.weights().get(l).data(), 1e-12);
+      }
+    }
+  }
+
+  /**
+   * Test for {@link NeuralNet#train(Dataset, int, double, int, long, long, Checkpointer,
+   * TrainingMetrics)} with batches larger than the training set.
+   **/
+  @Test
+  /*default*/ void testBatchSize() {
+
+    var net = NeuralNet.builder(6).layer(3).random(rand).build();
+    var set = new ArrayDataset(image(6 * 8), new byte[8], 6);
+    double[] before = net.weights().get(0).copy().data();
+
+    assertThrows(IllegalArgumentException.class, () -> net.train(set, 1, .5, 9, 1, 0, null, null));
+    assertThrows(IllegalArgumentException.class, () -> net.train(set, 1, .5, 0, 1, 0, null, null));
+    assertArrayEquals(before, net.weights().get(0).data());
+    net.train(set, 1, .5, 8, 1, 0, null, null);
+    assertFalse(Arrays.equals(before, net.weights().get(0).data()));
+  }
+
+  /**
+   * Test for {@link Layer#forward(DenseMatrix, DenseMatrix)} into rows of a larger matrix.
+   **/
+  @Test
+  /*default*/ void testForwardStrided() {
+
+    var layer = NeuralNet.builder(7).layer(5).random(rand).build().layers().get(0);
+    var in = new DenseMatrix(4, 7, image(4 * 7));
+    var expected = layer.forward(in, new DenseMatrix(4, 5));
+    // the rows are 8 apart, the 3 values after every row must stay untouched
+    double[] data = new double[4 * 8];
+    Arrays.fill(data, -1);
+    layer.forward(in, new DenseMatrix(4, 5, 8, 0, data));
+    for (int b = 0; b < 4; b++) {
+      assertArrayEquals(expected.toArray()[b], Arrays.copyOfRange(data, b * 8, b * 8 + 5));
+      assertArrayEquals(new double[] { -1, -1, -1 },
+                        Arrays.copyOfRange(data, b * 8 + 5, b * 8 + 8));
+    }
+  }
+
+  /**
+   * Test for {@link NeuralNet#freeze()} of a deep network.
+   **/
+  @Test
+  /*default*/ void testFreeze() {
+
+    var net = NeuralNet.builder(15).layer(11).layer(8).layer(6).layer(4).random(rand).build();
+    var model = net.freeze();
+    double[][] images = new double[40][];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = image(15);
+    }
+
+    double[][] out = model.assessBatch(images).toArray();
+    int[] lables = model.classifyBatch(images);
+    for (int i = 0; i < images.length; i++) {
+      assertArrayEquals(net.assess(images[i]), out[i], 1e-12);
+      assertArrayEquals(net.assess(images[i]), model.assess(images[i]), 1e-12);
+      assertEquals(model.classify(images[i]), lables[i]);
+    }
+  }
+
+  private List<DenseMatrix> copy(List<DenseMatrix> weights) {
+
+    return weights.stream().map(DenseMatrix::copy).toList();
+  }
+
+  private double[] image(int size) {
+
+    return rand.doubles(size).toArray();
+  }
+
+}
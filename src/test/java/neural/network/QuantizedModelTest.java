@@ -0,0 +1,108 @@
+package neural.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import neural.network.activation.Sigmoid;
+import neural.network.data.IdxFile;
+import neural.network.linearalgebra.DenseMatrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link QuantizedModel}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class QuantizedModelTest {
+
+  private final Random rand = new Random(21);
+
+  /**
+   * Test for {@link QuantizedModel#assess(byte[])} against {@link NeuralNet#assess(double[])}.
+   **/
+  @Test
+  /*default*/ void testAssess() {
+
+    var net = new NeuralNet(List.of(random(88, NeuralNet.IMAGE_SIZE, .05), random(29, 88, .3),
+                                    random(10, 29, 1)));
+    var model = net.quantize();
+    assertEquals(NeuralNet.IMAGE_SIZE, model.inputSize());
+    assertEquals(10, model.outputSize());
+    assertEquals(88 * 784 + 29 * 88 + 10 * 29 + 127 * Double.BYTES, model.bytes());
+
+    int agree = 0;
+    for (int i = 0; i < 200; i++) {
+      byte[] pixels = new byte[NeuralNet.IMAGE_SIZE];
+      rand.nextBytes(pixels);
+      double[] img = new double[pixels.length];
+      for (int p = 0; p < pixels.length; p++) {
+        img[p] = (pixels[p] & 0xff) / 255.;
+      }
+      double[] expected = net.assess(img);
+      assertArrayEquals(expected, model.assess(pixels), .05);
+      assertArrayEquals(model.assess(pixels), model.assess(img));
+      agree += model.classify(pixels) == net.freeze().classify(img) ? 1 : 0;
+    }
+    assertTrue(agree > 190, "agreement " + agree);
+  }
+
+  /**
+   * Test for {@link QuantizedModel#quantize(List, Sigmoid)} on exactly representable weights.
+   **/
+  @Test
+  /*default*/ void testExact() {
+
+    var weights = DenseMatrix.of(new double[][] { { 127, -127, 0 }, { 0, 0, 0 }, { 3, 6, -127 } });
+    var model = QuantizedModel.quantize(List.of(weights), Sigmoid.EXACT);
+    byte[] pixels = { 1, 2, (byte) 255 };
+
+    double[] logits = new double[3];
+    for (int i = 0; i < 3; i++) {
+      logits[i] = (weights.get(i, 0) + 2 * weights.get(i, 1) + 255 * weights.get(i, 2)) / 255;
+    }
+    assertArrayEquals(Sigmoid.EXACT.apply(logits), model.assess(pixels), 1e-12);
+    assertEquals(0, model.classify(new byte[] { 1, 0, 0 }));
+    assertThrows(IllegalArgumentException.class, () -> model.assess(new byte[2]));
+  }
+
+  /**
+   * Test for {@link QuantizedModel#classify(IdxFile, int)}.
+   **/
+  @Test
+  /*default*/ void testClassifyIdx() throws IOException {
+
+    var model = QuantizedModel.quantize(List.of(random(6, 4, 1), random(3, 6, 1)), Sigmoid.EXACT);
+    var buff = ByteBuffer.allocate(16 + 3 * 4);
+    buff.put(new byte[] { 0, 0, 0x08, 3 }).putInt(3).putInt(2).putInt(2);
+    byte[] pixels = new byte[12];
+    rand.nextBytes(pixels);
+    buff.put(pixels);
+    var path = Files.createTempFile("idx", ".ubyte");
+    path.toFile().deleteOnExit();
+    var images = IdxFile.open(Files.write(path, buff.array()));
+
+    for (int i = 0; i < 3; i++) {
+      byte[] image = new byte[4];
+      System.arraycopy(pixels, 4 * i, image, 0, 4);
+      assertEquals(model.classify(image), model.classify(images, i));
+    }
+  }
+
+  private DenseMatrix random(int rows, int cols, double range) {
+
+    var matrix = new DenseMatrix(rows, cols);
+    for (int i = 0; i < matrix.data().length; i++) {
+      matrix.data()[i] = (rand.nextDouble() - .5) * range;
+    }
+    return matrix;
+  }
+
+}
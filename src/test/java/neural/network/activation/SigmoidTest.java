@@ -0,0 +1,65 @@
+package neural.network.activation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Sigmoid}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class SigmoidTest {
+
+  /**
+   * Test for {@link Sigmoid#EXACT}.
+   **/
+  @Test
+  /*default*/ void testExact() {
+
+    assertEquals(.5, Sigmoid.EXACT.apply(0));
+    assertEquals(1 / (1 + Math.pow(Math.E, -2.5)), Sigmoid.EXACT.apply(2.5), 1e-15);
+    assertEquals(0, Sigmoid.EXACT.apply(-1000));
+    assertEquals(1, Sigmoid.EXACT.apply(1000));
+
+    double[] arr = { -1, 0, 1, 3 };
+    double[] expected = { Sigmoid.EXACT.apply(-1), .5, Sigmoid.EXACT.apply(1), 3 };
+    assertArrayEquals(expected, Sigmoid.EXACT.apply(arr, 0, 3), 1e-15);
+  }
+
+  /**
+   * Test for the error bound of {@link Sigmoid#FAST}.
+   **/
+  @Test
+  /*default*/ void testFastError() {
+
+    double max = 0;
+    for (double x = -40; x <= 40; x += 1e-4) {
+      max = Math.max(max, Math.abs(Sigmoid.FAST.apply(x) - Sigmoid.EXACT.apply(x)));
+    }
+    for (double x : new double[] { -Sigmoid.LIMIT, Sigmoid.LIMIT, Double.MAX_VALUE,
+        -Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE }) {
+      max = Math.max(max, Math.abs(Sigmoid.FAST.apply(x) - Sigmoid.EXACT.apply(x)));
+    }
+    assertTrue(max < Sigmoid.FAST_ERROR, "max error " + max);
+    assertTrue(Double.isNaN(Sigmoid.FAST.apply(Double.NaN)));
+  }
+
+  /**
+   * Test for {@link Sigmoid#apply(double[])} of {@link Sigmoid#FAST}.
+   **/
+  @Test
+  /*default*/ void testFastArray() {
+
+    double[] arr = { -20, -3.3, 0, .01, 7.77, 15.999, 20 };
+    double[] expected = arr.clone();
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = Sigmoid.FAST.apply(expected[i]);
+    }
+    assertArrayEquals(expected, Sigmoid.FAST.apply(arr));
+  }
+
+}
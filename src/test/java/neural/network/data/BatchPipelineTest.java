@@ -0,0 +1,115 @@
+package neural.network.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BatchPipeline}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class BatchPipelineTest {
+
+  /**
+   * Test for {@link BatchPipeline#next()} with images taken in order.
+   **/
+  @Test
+  /*default*/ void testNext() {
+
+    var set = dataSet(50);
+    var index = new AtomicInteger();
+    try (var pipeline = new BatchPipeline(set, 4, 2,
+                                          () -> index.getAndIncrement() % set.size())) {
+      for (int step = 0; step < 100; step++) {
+        var batch = pipeline.next();
+        for (int b = 0; b < 4; b++) {
+          int r = (step * 4 + b) % set.size();
+          double[] expected = new double[set.imageSize()];
+          set.image(r, expected, 0);
+          double[] actual = new double[set.imageSize()];
+          System.arraycopy(batch.images().data(), batch.images().index(b, 0), actual, 0,
+                           actual.length);
+          assertArrayEquals(expected, actual);
+          assertEquals(set.lable(r), batch.lables()[b]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test for {@link BatchPipeline#next()} after the decoding failed.
+   **/
+  @Test
+  /*default*/ void testFailure() {
+
+    var set = dataSet(10);
+    var index = new AtomicInteger();
+    try (var pipeline = new BatchPipeline(set, 5, 3, index::getAndIncrement)) {
+      pipeline.next();
+      pipeline.next();
+      var e = assertThrows(IllegalStateException.class, pipeline::next);
+      assertSame(ArrayIndexOutOfBoundsException.class, e.getCause().getClass());
+      assertThrows(IllegalStateException.class, pipeline::next);
+    }
+  }
+
+  /**
+   * Test for {@link BatchPipeline#next()} after and during {@link BatchPipeline#close()}.
+   **/
+  @Test
+  /*default*/ void testClosed() throws InterruptedException {
+
+    var set = dataSet(10);
+    var pipeline = new BatchPipeline(set, 2, 2, () -> 0);
+    pipeline.next();
+    pipeline.close();
+    assertThrows(IllegalStateException.class, pipeline::next);
+    pipeline.close();
+
+    // the decoding thread waits for indices that never come
+    var blocked = new CountDownLatch(1);
+    var waiting = new BatchPipeline(set, 2, 2, () -> {
+      blocked.countDown();
+      LockSupport.park();
+      return 0;
+    });
+    var failure = new AtomicReference<Throwable>();
+    var consumer = new Thread(() -> {
+      try {
+        waiting.next();
+      } catch (IllegalStateException e) {
+        failure.set(e);
+      }
+    });
+    consumer.start();
+    blocked.await();
+    waiting.close();
+    consumer.join(10_000);
+    assertFalse(consumer.isAlive());
+    assertEquals("The pipeline is closed", failure.get().getMessage());
+  }
+
+  private Dataset dataSet(int size) {
+
+    double[] images = new double[size * 3];
+    byte[] lables = new byte[size];
+    for (int i = 0; i < size; i++) {
+      images[3 * i] = i;
+      images[3 * i + 1] = -i;
+      images[3 * i + 2] = i * .5;
+      lables[i] = (byte) (i % 10);
+    }
+    return new ArrayDataset(images, lables, 3);
+  }
+
+}
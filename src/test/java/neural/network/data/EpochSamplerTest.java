@@ -0,0 +1,90 @@
+package neural.network.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link EpochSampler}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class EpochSamplerTest {
+
+  /**
+   * Test for {@link EpochSampler#getAsInt()}, every index is drawn once per epoch.
+   **/
+  @Test
+  /*default*/ void testPermutation() {
+
+    var sampler = new EpochSampler(1000, 5);
+    int[] fst = draw(sampler, 1000);
+    assertEquals(1, sampler.epoch());
+    int[] scnd = draw(sampler, 1000);
+    assertFalse(Arrays.equals(fst, scnd));
+
+    int[] identity = new int[1000];
+    Arrays.setAll(identity, i -> i);
+    assertArrayEquals(identity, sorted(fst));
+    assertArrayEquals(identity, sorted(scnd));
+    assertArrayEquals(fst, draw(new EpochSampler(1000, 5), 1000));
+  }
+
+  /**
+   * Test for {@link EpochSampler#seek(long)}.
+   **/
+  @Test
+  /*default*/ void testSeek() {
+
+    int[] expected = draw(new EpochSampler(100, 9), 350);
+    var sampler = new EpochSampler(100, 9);
+    sampler.seek(230);
+    assertEquals(2, sampler.epoch());
+    assertArrayEquals(Arrays.copyOfRange(expected, 230, 350), draw(sampler, 120));
+    sampler.seek(10);
+    assertArrayEquals(Arrays.copyOfRange(expected, 10, 30), draw(sampler, 20));
+  }
+
+  /**
+   * Test for shards of an epoch.
+   **/
+  @Test
+  /*default*/ void testShards() {
+
+    int[] epoch = draw(new EpochSampler(101, 3), 101);
+    int[] shards = new int[101];
+    int k = 0;
+    for (int s = 0; s < 4; s++) {
+      var sampler = new EpochSampler(101, 3, s, 4);
+      for (int i = 0; i < sampler.epochSize(); i++) {
+        int index = sampler.getAsInt();
+        assertEquals(epoch[s + 4 * i], index);
+        shards[k++] = index;
+      }
+      assertEquals(1, sampler.epoch());
+    }
+    assertEquals(101, k);
+    assertArrayEquals(sorted(epoch), sorted(shards));
+  }
+
+  private int[] draw(EpochSampler sampler, int n) {
+
+    int[] indices = new int[n];
+    for (int i = 0; i < n; i++) {
+      indices[i] = sampler.getAsInt();
+    }
+    return indices;
+  }
+
+  private int[] sorted(int[] arr) {
+
+    int[] copy = arr.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+}
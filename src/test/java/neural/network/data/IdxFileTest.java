@@ -0,0 +1,117 @@
+package neural.network.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link IdxFile} and {@link IdxDataset}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class IdxFileTest {
+
+  /**
+   * Test for {@link IdxFile#open(Path)} with a file of three 2x3 images.
+   **/
+  @Test
+  /*default*/ void testOpen() throws IOException {
+
+    var file = IdxFile.open(write(new int[] { 3, 2, 3 }, 0, 255, 51, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+                                  10, 11, 12, 13, 14, 15, 16, 17));
+
+    assertArrayEquals(new int[] { 3, 2, 3 }, file.dimensions());
+    assertEquals(3, file.count());
+    assertEquals(6, file.itemSize());
+    assertEquals(255, file.get(0, 1));
+    assertEquals(7, file.get(1, 3));
+    assertEquals(6, file.item(2).remaining());
+    assertEquals(10, file.item(2).get(0));
+
+    double[] dst = new double[7];
+    file.normalize(0, dst, 1);
+    assertArrayEquals(new double[] { 0, 0, 1, .2, 1 / 255., 2 / 255., 3 / 255. }, dst, 1e-15);
+    byte[] bytes = new byte[6];
+    file.bytes(0, bytes, 0);
+    assertArrayEquals(new byte[] { 0, (byte) 255, 51, 1, 2, 3 }, bytes);
+    assertThrows(IndexOutOfBoundsException.class, () -> file.get(3, 0));
+  }
+
+  /**
+   * Test for {@link IdxDataset}.
+   **/
+  @Test
+  /*default*/ void testDataset() throws IOException {
+
+    var set = IdxDataset.open(write(new int[] { 2, 2 }, 0, 255, 255, 0),
+                              write(new int[] { 2 }, 7, 3));
+
+    assertEquals(2, set.size());
+    assertEquals(2, set.imageSize());
+    assertEquals(3, set.lable(1));
+    double[] img = new double[2];
+    set.image(1, img, 0);
+    assertArrayEquals(new double[] { 1, 0 }, img);
+
+    var lables = IdxFile.open(write(new int[] { 3 }, 1, 2, 3));
+    assertThrows(IllegalArgumentException.class, () -> new IdxDataset(set.images(), lables));
+  }
+
+  /**
+   * Test for {@link IdxFile#open(Path)} with invalid files.
+   **/
+  @Test
+  /*default*/ void testInvalid() throws IOException {
+
+    var truncated = write(new int[] { 4, 2 }, 1, 2, 3);
+    assertThrows(IllegalArgumentException.class, () -> IdxFile.open(truncated));
+    var empty = write(new int[] { 0, 2 });
+    assertThrows(IllegalArgumentException.class, () -> IdxFile.open(empty));
+    // two negative dimensions with a positive product
+    var negative = write(new int[] { -1, -3 }, 1, 2, 3);
+    assertThrows(IllegalArgumentException.class, () -> IdxFile.open(negative));
+    // a product overflowing int and long
+    int max = Integer.MAX_VALUE;
+    var huge = write(new int[] { max, max, max, max, 2 }, 1, 2, 3);
+    assertThrows(IllegalArgumentException.class, () -> IdxFile.open(huge));
+
+    var path = Files.createTempFile("idx", ".ubyte");
+    path.toFile().deleteOnExit();
+    Files.write(path, new byte[] { 0, 0, 0x0D, 1, 0, 0, 0, 0 });
+    assertThrows(IllegalArgumentException.class, () -> IdxFile.open(path));
+  }
+
+  /**
+   * Test for {@link IdxFile#open(Path)} with the MNIST training lables.
+   **/
+  @Test
+  /*default*/ void testMnistLables() {
+
+    var file = IdxFile.open(Path.of("src/main/resources/data/train-labels.idx1-ubyte"));
+    assertEquals(60_000, file.count());
+    assertEquals(1, file.itemSize());
+  }
+
+  private Path write(int[] dimensions, int... values) throws IOException {
+
+    var buff = ByteBuffer.allocate(4 + 4 * dimensions.length + values.length);
+    buff.put(new byte[] { 0, 0, 0x08, (byte) dimensions.length });
+    for (int dimension : dimensions) {
+      buff.putInt(dimension);
+    }
+    for (int value : values) {
+      buff.put((byte) value);
+    }
+    var path = Files.createTempFile("idx", ".ubyte");
+    path.toFile().deleteOnExit();
+    return Files.write(path, buff.array());
+  }
+
+}
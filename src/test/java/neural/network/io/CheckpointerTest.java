@@ -0,0 +1,113 @@
+package neural.network.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.FloatMatrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Checkpointer}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class CheckpointerTest {
+
+  /**
+   * Test for {@link Checkpointer#step(long, long, List)}.
+   **/
+  @Test
+  /*default*/ void testStep() throws IOException {
+
+    var path = tempDir().resolve("checkpoint.nnw");
+    var weights = new DenseMatrix(3, 4);
+    try (var checkpointer = new Checkpointer(path, 10, Long.MAX_VALUE / 2_000_000, 5)) {
+      assertFalse(checkpointer.step(14, 7, List.of(weights)));
+      weights.set(1, 2, 3);
+      assertTrue(checkpointer.step(15, 7, List.of(weights)));
+      // the snapshot is a copy, later corrections do not end up in the checkpoint
+      weights.set(1, 2, 4);
+    }
+
+    var checkpoint = Checkpointer.read(path);
+    assertEquals(15, checkpoint.step());
+    assertEquals(7, checkpoint.seed());
+    assertEquals(3, checkpoint.weights().get(0).get(1, 2));
+    assertFalse(Files.exists(path.resolveSibling("checkpoint.nnw.tmp")));
+
+    // a checkpoint is a valid model file
+    assertEquals(1, ModelFile.read(path).size());
+  }
+
+  /**
+   * Test for {@link Checkpointer#save(long, long, List)}.
+   **/
+  @Test
+  /*default*/ void testSave() throws IOException {
+
+    var path = tempDir().resolve("checkpoint.nnw");
+    var fst = DenseMatrix.of(new double[][] { { 1, 2 }, { 3, 4 } });
+    var scnd = DenseMatrix.of(new double[][] { { 5, 6 } });
+    try (var checkpointer = new Checkpointer(path, 1, 1, 0)) {
+      for (int step = 1; step <= 50; step++) {
+        fst.set(0, 0, step);
+        checkpointer.step(step, 3, List.of(fst, scnd));
+      }
+      checkpointer.save(51, 3, List.of(fst, scnd));
+    }
+
+    var checkpoint = Checkpointer.read(path);
+    assertEquals(51, checkpoint.step());
+    assertArrayEquals(fst.data(), checkpoint.weights().get(0).data());
+    assertArrayEquals(scnd.data(), checkpoint.weights().get(1).data());
+  }
+
+  /**
+   * Test for {@link Checkpointer#stepFloat(long, long, List)} and
+   * {@link Checkpointer#saveFloat(long, long, List)}.
+   **/
+  @Test
+  /*default*/ void testFloat() throws IOException {
+
+    var path = tempDir().resolve("checkpoint.nnw");
+    var weights = new FloatMatrix(2, 3, new float[] { 1, 2, 3, 4, 5, .1f });
+    try (var checkpointer = new Checkpointer(path, 1, 1, 0)) {
+      assertTrue(checkpointer.stepFloat(1, 9, List.of(weights)));
+      checkpointer.saveFloat(2, 9, List.of(weights));
+    }
+
+    assertEquals(ModelFile.DataType.FLOAT32, ModelFile.type(path));
+    var checkpoint = Checkpointer.read(path);
+    assertEquals(2, checkpoint.step());
+    assertEquals(9, checkpoint.seed());
+    assertArrayEquals(weights.data(), FloatMatrix.of(checkpoint.weights().get(0)).data());
+  }
+
+  /**
+   * Test for {@link Checkpointer#read(Path)} with a plain model file.
+   **/
+  @Test
+  /*default*/ void testReadModelFile() throws IOException {
+
+    var path = tempDir().resolve("model.nnw");
+    ModelFile.write(path, List.of(new DenseMatrix(2, 2)));
+    assertThrows(IllegalArgumentException.class, () -> Checkpointer.read(path));
+  }
+
+  private Path tempDir() throws IOException {
+
+    var dir = Files.createTempDirectory("checkpoint");
+    dir.toFile().deleteOnExit();
+    return dir;
+  }
+
+}
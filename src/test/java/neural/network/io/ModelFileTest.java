@@ -0,0 +1,221 @@
+package neural.network.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.FloatMatrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ModelFile}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class ModelFileTest {
+
+  private final Random rand = new Random(11);
+
+  /**
+   * Test for {@link ModelFile#write(Path, List)} and {@link ModelFile#read(Path)}.
+   **/
+  @Test
+  /*default*/ void testRoundTrip() throws IOException {
+
+    var fst = random(88, 784);
+    var scnd = random(31, 88).view(2, 29);
+    var fnl = random(10, 29);
+    var path = tempFile();
+    ModelFile.write(path, List.of(fst, scnd, fnl));
+
+    var layers = ModelFile.read(path);
+    assertEquals(3, layers.size());
+    assertMatrixEquals(fst, layers.get(0));
+    assertMatrixEquals(scnd, layers.get(1));
+    assertMatrixEquals(fnl, layers.get(2));
+
+    var buff = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+    var header = ModelFile.Header.decode(buff);
+    assertEquals(0, header.payloadOffset() % 8);
+    assertEquals(header.payloadOffset() + header.payloadSize(), Files.size(path));
+    assertArrayEquals(new int[] { 88, 29, 10 }, header.rows());
+  }
+
+  /**
+   * Test for {@link ModelFile#writeFloat(Path, List)} and {@link ModelFile#readFloat(Path)}.
+   **/
+  @Test
+  /*default*/ void testFloatRoundTrip() throws IOException {
+
+    var fst = FloatMatrix.of(random(29, 88));
+    var scnd = FloatMatrix.of(random(10, 29));
+    var path = tempFile();
+    ModelFile.writeFloat(path, List.of(fst, scnd));
+
+    assertEquals(ModelFile.DataType.FLOAT32, ModelFile.type(path));
+    var layers = ModelFile.readFloat(path);
+    assertArrayEquals(fst.data(), layers.get(0).data());
+    assertArrayEquals(scnd.data(), layers.get(1).data());
+    // widening to doubles is exact
+    assertMatrixEquals(scnd.toDense(), ModelFile.read(path).get(1));
+
+    var buff = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+    var header = ModelFile.Header.decode(buff);
+    assertEquals(header.payloadOffset() + (29 * 88 + 10 * 29) * 4L, Files.size(path));
+
+    // double files are rounded
+    var dense = random(3, 5);
+    ModelFile.write(path, List.of(dense));
+    assertEquals(ModelFile.DataType.FLOAT64, ModelFile.type(path));
+    assertArrayEquals(FloatMatrix.of(dense).data(), ModelFile.readFloat(path).get(0).data());
+  }
+
+  /**
+   * Test for {@link ModelFile#read(Path)} with a corrupt file.
+   **/
+  @Test
+  /*default*/ void testCorrupt() throws IOException {
+
+    var path = tempFile();
+    ModelFile.write(path, List.of(random(3, 4)));
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[bytes.length - 3] ^= 1;
+    Files.write(path, bytes);
+    assertThrows(IllegalArgumentException.class, () -> ModelFile.read(path));
+
+    Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 });
+    assertThrows(IllegalArgumentException.class, () -> ModelFile.read(path));
+  }
+
+  /**
+   * Test for {@link ModelFile#convertJson(Path, List)}.
+   **/
+  @Test
+  /*default*/ void testConvertJson() throws IOException {
+
+    var fst = random(5, 7);
+    var scnd = random(2, 5);
+    var gson = new Gson();
+    var fstJson = tempFile();
+    var scndJson = tempFile();
+    Files.writeString(fstJson, gson.toJson(fst.toArray()));
+    Files.writeString(scndJson, gson.toJson(scnd.toArray()));
+
+    var path = tempFile();
+    ModelFile.convertJson(path, List.of(fstJson, scndJson));
+    var layers = ModelFile.read(path);
+    assertMatrixEquals(fst, layers.get(0));
+    assertMatrixEquals(scnd, layers.get(1));
+  }
+
+  /**
+   * Test for {@link ModelFile#write(Path, List)} replacing a file which is mapped into memory.
+   **/
+  @Test
+  /*default*/ void testReplaceMapped() throws IOException {
+
+    var path = tempFile();
+    ModelFile.write(path, List.of(random(29, 88)));
+    byte[] before = Files.readAllBytes(path);
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      // a smaller file, rewriting the old one in place would cut off the mapped pages
+      var replacement = random(10, 29);
+      ModelFile.write(path, List.of(replacement));
+      byte[] stillMapped = new byte[before.length];
+      mapped.get(stillMapped);
+      assertArrayEquals(before, stillMapped);
+      assertMatrixEquals(replacement, ModelFile.read(path).get(0));
+    }
+    assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+  }
+
+  /**
+   * Test for {@link ModelFile.Header} holding copies of its shapes.
+   **/
+  @Test
+  /*default*/ void testHeader() {
+
+    int[] rows = { 29, 10 };
+    int[] cols = { 88, 29 };
+    var header = new ModelFile.Header(ModelFile.DataType.FLOAT64, rows, cols, 7);
+    rows[0] = 1;
+    header.cols()[0] = 1;
+    assertArrayEquals(new int[] { 29, 10 }, header.rows());
+    assertEquals(88, header.cols(0));
+
+    var same = new ModelFile.Header(ModelFile.DataType.FLOAT64, new int[] { 29, 10 }, cols, 7);
+    cols[0] = 88;
+    assertEquals(header, same.withCrc(7));
+    assertEquals(header.hashCode(), same.hashCode());
+    assertFalse(header.equals(same.withCrc(8)));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new ModelFile.Header(ModelFile.DataType.FLOAT32, rows, new int[1], 0));
+  }
+
+  /**
+   * Test for {@link ModelFile#write(Path, ModelFile.FileWriter)} with a model followed by more
+   * data, and with a writer which fails.
+   **/
+  @Test
+  /*default*/ void testWriteChannel() throws IOException {
+
+    var path = tempFile();
+    var layer = random(4, 7);
+    ModelFile.write(path, channel -> {
+      ModelFile.write(channel, List.of(layer));
+      channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+    });
+    byte[] written = Files.readAllBytes(path);
+    assertArrayEquals(new byte[] { 1, 2, 3 },
+                      Arrays.copyOfRange(written, written.length - 3, written.length));
+    assertMatrixEquals(layer, ModelFile.read(path).get(0));
+
+    assertThrows(UncheckedIOException.class, () -> ModelFile.write(path, channel -> {
+      ModelFile.write(channel, List.of(random(2, 2)));
+      throw new IOException("disk full");
+    }));
+    assertArrayEquals(written, Files.readAllBytes(path));
+    assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+  }
+
+  private void assertMatrixEquals(DenseMatrix expected, DenseMatrix actual) {
+
+    assertEquals(expected.rows(), actual.rows());
+    assertEquals(expected.cols(), actual.cols());
+    assertArrayEquals(expected.copy().data(), actual.copy().data());
+  }
+
+  private DenseMatrix random(int rows, int cols) {
+
+    var matrix = new DenseMatrix(rows, cols);
+    for (int i = 0; i < matrix.data().length; i++) {
+      matrix.data()[i] = rand.nextGaussian();
+    }
+    return matrix;
+  }
+
+  private Path tempFile() throws IOException {
+
+    var path = Files.createTempFile("model", ".nnw");
+    path.toFile().deleteOnExit();
+    return path;
+  }
+
+}
@@ -0,0 +1,235 @@
+package neural.network.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+import neural.network.linearalgebra.FloatMatrix;
+import neural.network.linearalgebra.Matrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ExecutionPolicy}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class ExecutionPolicyTest {
+
+  /**
+   * Test for {@link ExecutionPolicy#sequential()}.
+   **/
+  @Test
+  /*default*/ void testSequential() {
+
+    var policy = ExecutionPolicy.sequential();
+    assertEquals(ExecutionPolicy.Mode.SEQUENTIAL, policy.mode());
+    assertEquals(1, policy.threads());
+    assertFalse(policy.isParallel(Long.MAX_VALUE));
+    assertEquals(Set.of(Thread.currentThread()), run(policy, 100, Long.MAX_VALUE));
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#parallel(int)} and {@link ExecutionPolicy#inline(Runnable)}.
+   **/
+  @Test
+  /*default*/ void testParallel() {
+
+    var policy = ExecutionPolicy.parallel(2);
+    assertTrue(policy.isParallel(1));
+    var threads = run(policy, 100, 1);
+    assertFalse(threads.contains(Thread.currentThread()));
+    assertTrue(threads.stream().allMatch(t -> t.getName().startsWith("matrix-")));
+
+    ExecutionPolicy.inline(() -> {
+      assertFalse(policy.isParallel(1));
+      assertEquals(Set.of(Thread.currentThread()), run(policy, 100, 1));
+    });
+    assertTrue(policy.isParallel(1));
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#auto(int, long)}.
+   **/
+  @Test
+  /*default*/ void testAuto() {
+
+    var policy = ExecutionPolicy.auto(2, 1000);
+    assertEquals(1000, policy.threshold());
+    assertFalse(policy.isParallel(999));
+    assertTrue(policy.isParallel(1000));
+    assertEquals(Set.of(Thread.currentThread()), run(policy, 100, 999));
+    assertFalse(run(policy, 100, 1000).contains(Thread.currentThread()));
+
+    // the parallelism of the caller is not multiplied
+    var caller = new ForkJoinPool(1);
+    assertFalse(CompletableFuture.supplyAsync(() -> policy.isParallel(1000), caller).join());
+    caller.shutdown();
+    assertFalse(ExecutionPolicy.auto(1, 0).isParallel(Long.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> ExecutionPolicy.auto(2, -1));
+    assertThrows(IllegalArgumentException.class, () -> ExecutionPolicy.parallel(0));
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#auto(int)}.
+   **/
+  @Test
+  /*default*/ void testCalibrate() {
+
+    var policy = ExecutionPolicy.auto(2);
+    assertEquals(ExecutionPolicy.Mode.AUTO, policy.mode());
+    assertTrue(policy.threshold() > 0 && policy.threshold() < Long.MAX_VALUE);
+    // a vector product of a small layer always runs on the calling thread
+    assertFalse(policy.isParallel(10 * 29));
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#set(ExecutionPolicy)} with the operations of {@link Matrix}.
+   **/
+  @Test
+  /*default*/ void testMatrix() {
+
+    var rand = new Random(23);
+    double[][] arr = new double[300][200];
+    for (double[] row : arr) {
+      for (int j = 0; j < row.length; j++) {
+        row[j] = rand.nextDouble();
+      }
+    }
+    var matrix = DenseMatrix.of(arr);
+    double[] vector = arr[0];
+    double[] err = new double[arr.length];
+    for (int i = 0; i < err.length; i++) {
+      err[i] = rand.nextDouble();
+    }
+
+    var previous = ExecutionPolicy.get();
+    try {
+      ExecutionPolicy.set(ExecutionPolicy.sequential());
+      double[] expected = Matrix.mult(matrix, vector);
+      double[] expectedTrans = Matrix.multTrans(matrix, err);
+      double[][] expectedSum = Matrix.add(arr, arr);
+      var expectedUpdate = update(matrix, vector, err);
+      float[] floats = new float[vector.length];
+      for (int i = 0; i < floats.length; i++) {
+        floats[i] = (float) vector[i];
+      }
+      var floatMatrix = FloatMatrix.of(matrix);
+      float[] expectedFloats = Matrix.mult(floatMatrix, floats, new float[matrix.rows()]);
+
+      ExecutionPolicy.set(ExecutionPolicy.parallel(3));
+      assertArrayEquals(expected, Matrix.mult(matrix, vector));
+      assertArrayEquals(expectedTrans, Matrix.multTrans(matrix, err));
+      assertArrayEquals(expectedSum, Matrix.add(arr, arr));
+      // the destination passing operations of a training step
+      assertArrayEquals(expected, Matrix.mult(matrix, vector, new double[matrix.rows()]));
+      assertArrayEquals(expectedTrans,
+                        Matrix.multTrans(matrix, err, new double[matrix.cols()]));
+      assertArrayEquals(expectedUpdate.data(), update(matrix, vector, err).data());
+      assertArrayEquals(expectedFloats, Matrix.mult(floatMatrix, floats, new float[300]));
+    } finally {
+      ExecutionPolicy.set(previous);
+    }
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#set(ExecutionPolicy)}.
+   **/
+  @Test
+  /*default*/ void testSet() {
+
+    var previous = ExecutionPolicy.get();
+    try {
+      var first = ExecutionPolicy.parallel(2);
+      ExecutionPolicy.set(first);
+      // setting the same policy again keeps its pool
+      ExecutionPolicy.set(first);
+      run(first, 10, 1);
+      ExecutionPolicy.set(ExecutionPolicy.sequential());
+      // the replaced policy still works, on the calling thread
+      assertEquals(Set.of(Thread.currentThread()), run(first, 10, 1));
+      assertThrows(IllegalArgumentException.class, () -> ExecutionPolicy.set(first));
+
+      // the policy of the system properties survives being replaced
+      ExecutionPolicy.set(null);
+      var fallback = ExecutionPolicy.get();
+      ExecutionPolicy.set(fallback);
+      ExecutionPolicy.set(ExecutionPolicy.sequential());
+      ExecutionPolicy.set(null);
+      assertEquals(fallback, ExecutionPolicy.get());
+      run(fallback, 10, Long.MAX_VALUE);
+    } finally {
+      ExecutionPolicy.set(previous);
+    }
+  }
+
+  /**
+   * Test for {@link ExecutionPolicy#set(ExecutionPolicy)} while another thread runs operations
+   * with the policy it replaces.
+   **/
+  @Test
+  /*default*/ void testSetConcurrently() throws Exception {
+
+    var previous = ExecutionPolicy.get();
+    var done = new AtomicBoolean();
+    try {
+      ExecutionPolicy.set(ExecutionPolicy.parallel(2));
+      var operations = CompletableFuture.supplyAsync(() -> {
+        int count = 0;
+        while (!done.get()) {
+          run(ExecutionPolicy.get(), 1000, 1);
+          count++;
+        }
+        return count;
+      }, task -> new Thread(task).start());
+      for (int i = 0; i < 200 && !operations.isDone(); i++) {
+        ExecutionPolicy.set(ExecutionPolicy.parallel(2));
+        Thread.yield();
+      }
+      done.set(true);
+      // fails with the exception of the operations, if any
+      assertTrue(operations.get() > 0);
+    } finally {
+      done.set(true);
+      ExecutionPolicy.set(previous);
+    }
+  }
+
+  private DenseMatrix update(DenseMatrix matrix, double[] vector, double[] err) {
+
+    var copy = matrix.copy();
+    double[] out = Matrix.mult(matrix, vector);
+    for (int i = 0; i < out.length; i++) {
+      out[i] = 1 / (1 + Math.exp(-out[i]));
+    }
+    Matrix.gerSigmoid(.1, err, out, vector, copy);
+    Matrix.ger(-.2, err, vector, copy);
+    return Matrix.add(.5, matrix, copy);
+  }
+
+  private Set<Thread> run(ExecutionPolicy policy, int tasks, long flops) {
+
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    var calls = new AtomicIntegerArray(tasks);
+    policy.forEach(tasks, flops, i -> {
+      calls.incrementAndGet(i);
+      threads.add(Thread.currentThread());
+    });
+    for (int i = 0; i < tasks; i++) {
+      assertEquals(1, calls.get(i));
+    }
+    return threads;
+  }
+
+}
@@ -0,0 +1,154 @@
+package neural.network.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.ExecutionPolicy;
+import neural.network.linearalgebra.Gemm;
+import neural.network.linearalgebra.Matrix;
+import neural.network.linearalgebra.exception.IllegalMathOperationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Gemm}, validated against {@link Gemm#reference}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class GemmTest {
+
+  private static final int[][] SHAPES = {
+      { 1, 1, 1 }, { 3, 5, 7 }, { 4, 4, 4 }, { 17, 33, 9 }, { 64, 784, 88 }, { 130, 300, 270 }
+  };
+
+  private final Random rand = new Random(42);
+
+  /**
+   * Test for {@link Gemm#gemm} with all combinations of transposed operands.
+   **/
+  @Test
+  /*default*/ void testAgainstReference() {
+
+    for (int[] shape : SHAPES) {
+      int m = shape[0];
+      int k = shape[1];
+      int n = shape[2];
+      for (int t = 0; t < 4; t++) {
+        boolean transA = (t & 1) != 0;
+        boolean transB = (t & 2) != 0;
+        var a = transA ? random(k, m) : random(m, k);
+        var b = transB ? random(n, k) : random(k, n);
+        var expected = random(m, n);
+        var actual = expected.copy();
+
+        Gemm.reference(transA, transB, .5, a, b, 2, expected);
+        Gemm.gemm(transA, transB, .5, a, b, 2, actual);
+        assertArrayEquals(expected.data(), actual.data(), 1e-9);
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Gemm#gemm} with operands and result which are strided views into larger
+   * arrays, like the row views of a batch. The elements between the rows must stay untouched.
+   **/
+  @Test
+  /*default*/ void testViews() {
+
+    for (int[] shape : SHAPES) {
+      int m = shape[0];
+      int k = shape[1];
+      int n = shape[2];
+      for (int t = 0; t < 4; t++) {
+        boolean transA = (t & 1) != 0;
+        boolean transB = (t & 2) != 0;
+        var a = transA ? view(k, m) : view(m, k);
+        var b = transB ? view(n, k) : view(k, n);
+        var expected = view(m, n);
+        var actual = new DenseMatrix(m, n, expected.stride(), expected.offset(),
+                                     expected.data().clone());
+
+        Gemm.reference(transA, transB, .5, a, b, 2, expected);
+        Gemm.gemm(transA, transB, .5, a, b, 2, actual);
+        assertArrayEquals(expected.data(), actual.data(), 1e-9);
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Gemm#gemm} under a parallel policy with fewer tiles than threads, which
+   * splits the rows and the columns of a tile, and with several panels of B.
+   **/
+  @Test
+  /*default*/ void testParallel() {
+
+    int[][] shapes = { { 1, 5, 9 }, { 5, 300, 3 }, { 7, 40, 50 }, { 32, 784, 128 },
+                       { 130, 300, 600 } };
+    var previous = ExecutionPolicy.get();
+    try {
+      ExecutionPolicy.set(ExecutionPolicy.parallel(3));
+      for (int[] shape : shapes) {
+        var a = view(shape[0], shape[1]);
+        var b = random(shape[1], shape[2]);
+        var expected = random(shape[0], shape[2]);
+        var actual = expected.copy();
+
+        Gemm.reference(false, false, 1, a, b, 0, expected);
+        Gemm.gemm(false, false, 1, a, b, 0, actual);
+        assertArrayEquals(expected.data(), actual.data(), 1e-9);
+      }
+    } finally {
+      ExecutionPolicy.set(previous);
+    }
+  }
+
+  /**
+   * Test for {@link Gemm#gemm} without depth, which only scales the result.
+   **/
+  @Test
+  /*default*/ void testEmptyDepth() {
+
+    var c = random(3, 2);
+    double first = c.get(2, 1);
+
+    Gemm.gemm(false, false, 1, random(3, 0), random(0, 2), 2, c);
+    assertEquals(2 * first, c.get(2, 1), 1e-12);
+  }
+
+  /**
+   * Test for {@link Matrix#mult(double[][], double[][])} on non square shapes.
+   **/
+  @Test
+  /*default*/ void testRectangular() {
+
+    double[][] first = { { 1, 2, 3 } };
+    double[][] second = { { 1, 3 }, { 2, 4 }, { 5, 1 } };
+    double[][] expected = { { 20, 14 } };
+
+    assertArrayEquals(expected, Matrix.mult(first, second));
+    assertThrows(IllegalMathOperationException.class, () -> Matrix.mult(second, second));
+  }
+
+  private DenseMatrix random(int rows, int cols) {
+
+    var matrix = new DenseMatrix(rows, cols);
+    for (int i = 0; i < matrix.data().length; i++) {
+      matrix.data()[i] = rand.nextDouble() - .5;
+    }
+    return matrix;
+  }
+
+  /**
+   * A random matrix at an offset of a larger array, with padding between its rows.
+   */
+  private DenseMatrix view(int rows, int cols) {
+
+    int stride = cols + 3;
+    var data = random(1, 5 + rows * stride).data();
+    return new DenseMatrix(rows, cols, stride, 5, data);
+  }
+
+}
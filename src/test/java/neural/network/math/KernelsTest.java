@@ -0,0 +1,249 @@
+package neural.network.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Random;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.Kernels;
+import neural.network.linearalgebra.Matrix;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Kernels}. The vector kernels are compared against the scalar kernels if the JVM
+ * runs with the module of the Vector API.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class KernelsTest {
+
+  private final Random rand = new Random(19);
+
+  /**
+   * Test for {@link Kernels#dot(double[], int, double[], int, int)}.
+   **/
+  @Test
+  /*default*/ void testDot() {
+
+    for (Kernels kernels : kernels()) {
+      for (int n = 0; n < 70; n++) {
+        for (int off = 0; off < 3; off++) {
+          double[] a = random(n + off);
+          double[] b = random(n + 2 * off);
+          double expected = Kernels.scalar().dot(a, off, b, 2 * off, n);
+          assertEquals(expected, kernels.dot(a, off, b, 2 * off, n), 1e-12, kernels.name());
+        }
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Kernels#axpy(double, double[], int, double[], int, int)}.
+   **/
+  @Test
+  /*default*/ void testAxpy() {
+
+    for (Kernels kernels : kernels()) {
+      for (int n = 0; n < 70; n++) {
+        for (int off = 0; off < 3; off++) {
+          double[] x = random(n + off);
+          double[] expected = random(n + off + 1);
+          double[] actual = expected.clone();
+          Kernels.scalar().axpy(-.75, x, off, expected, 1, n);
+          kernels.axpy(-.75, x, off, actual, 1, n);
+          assertArrayEquals(expected, actual, 1e-15);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Kernels#sigmoid(double[], int, int)}.
+   **/
+  @Test
+  /*default*/ void testSigmoid() {
+
+    for (Kernels kernels : kernels()) {
+      double[] actual = new double[301];
+      for (int i = 0; i < actual.length; i++) {
+        actual[i] = (i - 150) / 4.0;
+      }
+      actual[0] = Double.NEGATIVE_INFINITY;
+      actual[actual.length - 1] = Double.POSITIVE_INFINITY;
+      double[] expected = actual.clone();
+      for (int i = 1; i < expected.length - 1; i++) {
+        expected[i] = 1 / (1 + Math.exp(-expected[i]));
+      }
+      kernels.sigmoid(actual, 1, actual.length - 1);
+      assertArrayEquals(expected, actual, 1e-15);
+    }
+  }
+
+  /**
+   * Test for the float variants of {@link Kernels}.
+   **/
+  @Test
+  /*default*/ void testFloat() {
+
+    for (Kernels kernels : kernels()) {
+      for (int n = 0; n < 70; n++) {
+        float[] x = randomFloats(n + 1);
+        float[] expected = randomFloats(n + 2);
+        float[] actual = expected.clone();
+        assertEquals(Kernels.scalar().dot(x, 1, expected, 2, n), kernels.dot(x, 1, expected, 2, n),
+                     1e-5f);
+        Kernels.scalar().axpy(.5f, x, 1, expected, 2, n);
+        kernels.axpy(.5f, x, 1, actual, 2, n);
+        assertArrayEquals(expected, actual, 1e-6f);
+
+        Kernels.scalar().sigmoid(expected, 1, n + 1);
+        kernels.sigmoid(actual, 1, n + 1);
+        assertArrayEquals(expected, actual, 1e-6f);
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Kernels#dotDoubles(ByteBuffer, int, double[], int, int)} and
+   * {@link Kernels#dotFloats(ByteBuffer, int, double[], int, int)} in both byte orders.
+   **/
+  @Test
+  /*default*/ void testBuffers() {
+
+    for (Kernels kernels : kernels()) {
+      for (int n = 0; n < 70; n++) {
+        double[] values = random(n + 1);
+        double[] b = random(n + 2);
+        var doubles = ByteBuffer.allocateDirect(values.length * Double.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        // the order of a heap buffer differs from the order of the platform
+        var floats = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.BIG_ENDIAN);
+        double expected = 0;
+        double expectedFloats = 0;
+        for (int i = 0; i < values.length; i++) {
+          doubles.putDouble(i * Double.BYTES, values[i]);
+          floats.putFloat(i * Float.BYTES, (float) values[i]);
+          if (i > 0) {
+            expected += values[i] * b[i + 1];
+            expectedFloats += (float) values[i] * b[i + 1];
+          }
+        }
+        assertEquals(expected, kernels.dotDoubles(doubles, 1, b, 2, n), 1e-12);
+        assertEquals(expectedFloats, kernels.dotFloats(floats, 1, b, 2, n), 1e-12);
+      }
+    }
+  }
+
+  /**
+   * Test for {@link Kernels#dotUnsigned(byte[], int, byte[], int, int)}.
+   **/
+  @Test
+  /*default*/ void testDotUnsigned() {
+
+    for (Kernels kernels : kernels()) {
+      for (int n = 0; n < 200; n += 7) {
+        byte[] a = new byte[n + 3];
+        byte[] b = new byte[n + 1];
+        rand.nextBytes(a);
+        rand.nextBytes(b);
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+          expected += a[3 + i] * (b[1 + i] & 0xff);
+        }
+        assertEquals(expected, kernels.dotUnsigned(a, 3, b, 1, n));
+      }
+    }
+  }
+
+  /**
+   * Test for the selection of the kernels if the choice is left to {@link Kernels#get()}.
+   **/
+  @Test
+  /*default*/ void testSelection() {
+
+    assertEquals("scalar", Kernels.scalar().name());
+    if (System.getProperty(Kernels.PROPERTY) != null) {
+      return;
+    }
+    if (Kernels.vectorAvailable()) {
+      assertEquals(Kernels.vector().lanes() >= 4 ? Kernels.vector() : Kernels.scalar(),
+                   Kernels.get());
+    } else {
+      assertEquals(Kernels.scalar(), Kernels.get());
+      assertThrows(UnsupportedOperationException.class, Kernels::vector);
+    }
+  }
+
+  /**
+   * Test for the vector kernels on CPUs with narrow SIMD registers, emulated by forked JVMs with
+   * vectors of at most 8 and 16 bytes.
+   **/
+  @Test
+  /*default*/ void testNarrowVectors() throws IOException, InterruptedException {
+
+    if (!Kernels.vectorAvailable()) {
+      return;
+    }
+    String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    for (int bytes : new int[] { 8, 16 }) {
+      var process = new ProcessBuilder(java, "-XX:MaxVectorSize=" + bytes, "--add-modules",
+                                       "jdk.incubator.vector", "-cp",
+                                       System.getProperty("java.class.path"),
+                                       KernelsTest.class.getName())
+          .redirectErrorStream(true)
+          .start();
+      String output = new String(process.getInputStream().readAllBytes());
+      assertEquals(0, process.waitFor(), output);
+    }
+  }
+
+  /**
+   * Runs the comparisons of the kernels in a forked JVM, see {@link #testNarrowVectors()}.
+   *
+   * @param args unused
+   */
+  public static void main(String[] args) {
+
+    var test = new KernelsTest();
+    test.testDot();
+    test.testAxpy();
+    test.testSigmoid();
+    test.testFloat();
+    test.testBuffers();
+    test.testDotUnsigned();
+    test.testSelection();
+    Matrix.mult(DenseMatrix.of(new double[][] { { 1, 2 } }), new double[] { 3, 4 });
+  }
+
+  private Kernels[] kernels() {
+
+    return Kernels.vectorAvailable()
+        ? new Kernels[] { Kernels.scalar(), Kernels.vector() }
+        : new Kernels[] { Kernels.scalar() };
+  }
+
+  private float[] randomFloats(int n) {
+
+    float[] arr = new float[n];
+    for (int i = 0; i < n; i++) {
+      arr[i] = rand.nextFloat() - .5f;
+    }
+    return arr;
+  }
+
+  private double[] random(int n) {
+
+    double[] arr = new double[n];
+    for (int i = 0; i < n; i++) {
+      arr[i] = rand.nextDouble() - .5;
+    }
+    return arr;
+  }
+
+}
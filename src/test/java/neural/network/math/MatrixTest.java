@@ -0,0 +1,224 @@
+package neural.network.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import neural.network.linearalgebra.DenseMatrix;
+import neural.network.linearalgebra.Matrix;
+import neural.network.linearalgebra.exception.IllegalMathOperationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Matrix} on {@link DenseMatrix}.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class MatrixTest {
+
+  private static final double[][] ORIG = { { 1, 2, 5 }, { 3, 4, 1 } };
+
+  /**
+   * Test for {@link DenseMatrix#of(double[][])}.
+   **/
+  @Test
+  /*default*/ void testRoundTrip() {
+
+    assertArrayEquals(ORIG, DenseMatrix.of(ORIG).toArray());
+  }
+
+  /**
+   * Test for {@link Matrix#mult(DenseMatrix, double[])}.
+   **/
+  @Test
+  /*default*/ void testMultInp() {
+
+    double[] input = { 1, 2, 3 };
+    double[] expected = { 20, 14 };
+
+    assertArrayEquals(expected, Matrix.mult(DenseMatrix.of(ORIG), input));
+  }
+
+  /**
+   * Test for {@link Matrix#multDoubles(ByteBuffer, int, int, double[], double[])} and
+   * {@link Matrix#multFloats(ByteBuffer, int, int, double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testMultBuffer() {
+
+    double[] input = { 1, 2, 3 };
+    double[] expected = { 20, 14 };
+    double[] data = DenseMatrix.of(ORIG).data();
+    var doubles = ByteBuffer.allocate(data.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    var floats = ByteBuffer.allocateDirect(data.length * Float.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < data.length; i++) {
+      doubles.putDouble(i * Double.BYTES, data[i]);
+      floats.putFloat(i * Float.BYTES, (float) data[i]);
+    }
+
+    assertArrayEquals(expected, Matrix.multDoubles(doubles, 2, 3, input, new double[2]));
+    assertArrayEquals(expected, Matrix.multFloats(floats, 2, 3, input, new double[2]));
+    assertThrows(IllegalMathOperationException.class,
+                 () -> Matrix.multDoubles(doubles, 3, 3, new double[3], new double[3]));
+    assertThrows(IllegalMathOperationException.class,
+                 () -> Matrix.multFloats(floats, 3, 3, new double[3], new double[3]));
+  }
+
+  /**
+   * Test for {@link Matrix#multTrans(DenseMatrix, double[])}.
+   **/
+  @Test
+  /*default*/ void testMultTrans() {
+
+    double[] vector = { 1, 2 };
+    double[] expected = { 7, 10, 7 };
+
+    assertArrayEquals(expected, Matrix.multTrans(DenseMatrix.of(ORIG), vector));
+  }
+
+  /**
+   * Test for {@link Matrix#mult(DenseMatrix, DenseMatrix)}.
+   **/
+  @Test
+  /*default*/ void testMult() {
+
+    double[][] first = { { 1, 2, 3 }, { 2, 3, 1 } };
+    double[][] second = { { 1, 3 }, { 2, 4 }, { 5, 1 } };
+    double[][] expected = { { 20, 14 }, { 13, 19 } };
+
+    assertArrayEquals(expected,
+                      Matrix.mult(DenseMatrix.of(first), DenseMatrix.of(second)).toArray());
+    assertThrows(IllegalMathOperationException.class,
+                 () -> Matrix.mult(DenseMatrix.of(first), DenseMatrix.of(first)));
+  }
+
+  /**
+   * Test for {@link Matrix#trans(DenseMatrix)}.
+   **/
+  @Test
+  /*default*/ void testTrans() {
+
+    double[][] expected = { { 1, 3 }, { 2, 4 }, { 5, 1 } };
+
+    assertArrayEquals(expected, Matrix.trans(DenseMatrix.of(ORIG)).toArray());
+  }
+
+  /**
+   * Test for {@link Matrix#add(DenseMatrix, DenseMatrix)}.
+   **/
+  @Test
+  /*default*/ void testAdd() {
+
+    double[][] fst = { { 1, 2, 3 }, { 2, 4, 6 }, { 3, 6, 9 } };
+    double[][] scd = { { 1, 3, 0 }, { 2, 4, 0 }, { 5, 1, 3 } };
+    double[][] expected = { { 2, 5, 3 }, { 4, 8, 6 }, { 8, 7, 12 } };
+
+    assertArrayEquals(expected, Matrix.add(DenseMatrix.of(fst), DenseMatrix.of(scd)).toArray());
+  }
+
+  /**
+   * Test for {@link Matrix#mult(double, DenseMatrix)} and {@link Matrix#outer(double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testScaledOuter() {
+
+    double[] fst = { 1, 2, 3 };
+    double[][] expected = { { 2, 4, 6 }, { 4, 8, 12 }, { 6, 12, 18 } };
+
+    assertArrayEquals(expected, Matrix.mult(2, Matrix.outer(fst, fst)).toArray());
+  }
+
+  /**
+   * Test for {@link Matrix#multAdd(double, DenseMatrix, double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testMultAdd() {
+
+    double[] input = { 1, 2, 3 };
+    double[] dst = { 1, 1 };
+    double[] expected = { 41, 29 };
+
+    assertArrayEquals(expected, Matrix.multAdd(2, DenseMatrix.of(ORIG), input, dst));
+  }
+
+  /**
+   * Test for {@link Matrix#multTrans(DenseMatrix, double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testMultTransInto() {
+
+    double[] vector = { 1, 2 };
+    double[] dst = { 9, 9, 9 };
+    double[] expected = { 7, 10, 7 };
+
+    assertArrayEquals(expected, Matrix.multTrans(DenseMatrix.of(ORIG), vector, dst));
+  }
+
+  /**
+   * Test for {@link Matrix#ger(double, double[], double[], DenseMatrix)}.
+   **/
+  @Test
+  /*default*/ void testGer() {
+
+    var matrix = DenseMatrix.of(ORIG);
+    double[][] expected = { { 3, 6, 11 }, { 7, 12, 13 } };
+
+    Matrix.ger(2, new double[] { 1, 2 }, new double[] { 1, 2, 3 }, matrix);
+    assertArrayEquals(expected, matrix.toArray());
+  }
+
+  /**
+   * Test for {@link Matrix#sub(double[], double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testSubInto() {
+
+    double[] fst = { 3, 2, 1 };
+    double[] dst = new double[3];
+
+    assertArrayEquals(new double[] { 2, 0, -2 }, Matrix.sub(fst, new double[] { 1, 2, 3 }, dst));
+    assertArrayEquals(new double[] { -2, -1, 0 }, Matrix.sub(fst, 1, dst));
+  }
+
+  /**
+   * Test for {@link Matrix#gerSigmoid(double, double[], double[], double[], DenseMatrix)}.
+   **/
+  @Test
+  /*default*/ void testGerSigmoid() {
+
+    double[] err = { 1, -2 };
+    double[] out = { .5, .25 };
+    double[] prev = { 1, 2, 3 };
+    var fused = DenseMatrix.of(ORIG);
+    var expected = DenseMatrix.of(ORIG);
+
+    double[] grad = Matrix.multElements(Matrix.multElements(err, out, new double[2]),
+                                        Matrix.sub(out, 1), new double[2]);
+    Matrix.ger(.1, grad, prev, expected);
+    Matrix.gerSigmoid(.1, err, out, prev, fused);
+    assertArrayEquals(expected.data(), fused.data(), 1e-12);
+  }
+
+  /**
+   * Test for {@link Matrix#multTransParallel(DenseMatrix, double[], double[])}.
+   **/
+  @Test
+  /*default*/ void testMultTransParallel() {
+
+    var rand = new Random(7);
+    var matrix = new DenseMatrix(88, 784);
+    for (int i = 0; i < matrix.data().length; i++) {
+      matrix.data()[i] = rand.nextDouble() - .5;
+    }
+    double[] vector = rand.doubles(88).toArray();
+
+    double[] expected = Matrix.mult(Matrix.trans(matrix), vector);
+    assertArrayEquals(expected, Matrix.multTransParallel(matrix, vector, new double[784]), 1e-12);
+    assertArrayEquals(expected, Matrix.multTrans(matrix.toArray(), vector), 1e-12);
+  }
+
+}
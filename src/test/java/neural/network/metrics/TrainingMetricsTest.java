@@ -0,0 +1,158 @@
+package neural.network.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import neural.network.FloatNeuralNet;
+import neural.network.NeuralNet;
+import neural.network.activation.Sigmoid;
+import neural.network.data.SyntheticDigits;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TrainingMetrics} and its sinks.
+ *
+ * <p>Created by: Jack</p>
+ * <p>Date: 18.10.2026</p>
+ */
+class TrainingMetricsTest {
+
+  private static final int PIXELS = 32;
+  private static final int CLASSES = 10;
+
+  private final Random rand = new Random(24);
+  private final SyntheticDigits digits = new SyntheticDigits(CLASSES, PIXELS, .2, rand);
+
+  /**
+   * Test for {@link TrainingMetrics} with the training of a {@link NeuralNet} one image at a
+   * time.
+   **/
+  @Test
+  /*default*/ void testTrain() {
+
+    var set = digits.dataset(2000);
+    var net = NeuralNet.builder(PIXELS).layer(16).layer(CLASSES).random(rand).build();
+    List<MetricsSnapshot> reports = new ArrayList<>();
+    // reports only when the training ends
+    var metrics = new TrainingMetrics(Long.MAX_VALUE / 1_000_000, reports::add);
+
+    net.train(set, 1, .3, 1, 7, 0, null, metrics);
+    assertEquals(1, reports.size());
+    var first = reports.get(0);
+    assertEquals(set.size(), first.samples());
+    assertEquals(set.size(), first.total());
+    assertEquals(2, first.layers());
+    for (int l = 0; l < first.layers(); l++) {
+      assertTrue(first.forwardNanos()[l] > 0, "forward " + l);
+      assertTrue(first.updateNanos()[l] > 0, "update " + l);
+    }
+    // the first layer propagates no error
+    assertEquals(0, first.backwardNanos()[0]);
+    assertTrue(first.backwardNanos()[1] > 0);
+    assertTrue(first.samplesPerSecond() > 0);
+
+    // the second generation continues the first and improves
+    net.train(set, 2, .3, 1, 7, set.size(), null, metrics);
+    var second = reports.get(1);
+    assertEquals(2L * set.size(), second.samples());
+    assertTrue(second.loss() < first.loss(), second.loss() + " >= " + first.loss());
+    assertTrue(second.accuracy() > first.accuracy());
+    assertTrue(second.accuracy() > .9, "accuracy " + second.accuracy());
+  }
+
+  /**
+   * Test for {@link TrainingMetrics} with the training of mini-batches and of a
+   * {@link FloatNeuralNet}.
+   **/
+  @Test
+  /*default*/ void testBatch() {
+
+    var set = digits.dataset(1000);
+    var net = NeuralNet.builder(PIXELS).layer(16).layer(CLASSES).random(rand).build();
+    var floats = FloatNeuralNet.of(net.weights(), Sigmoid.EXACT);
+    List<MetricsSnapshot> reports = new ArrayList<>();
+    var metrics = new TrainingMetrics(1, reports::add);
+
+    net.train(set, 3, 1, 10, 7, 0, null, metrics);
+    assertEquals(3L * set.size(), reports.get(reports.size() - 1).samples());
+    long samples = 0;
+    for (var report : reports) {
+      // every interval holds at least one scored step
+      assertTrue(report.samples() > samples, report.toString());
+      assertTrue(report.loss() >= 0 && report.accuracy() >= 0 && report.accuracy() <= 1);
+      samples = report.samples();
+    }
+
+    // a single report of the continued run, independent of the timing of the intervals
+    reports.clear();
+    var whole = new TrainingMetrics(Long.MAX_VALUE / 1_000_000, reports::add);
+    net.train(set, 4, 1, 10, 7, 3L * set.size() / 10, null, whole);
+    assertEquals(1, reports.size());
+    var batches = reports.get(0);
+    assertEquals(4L * set.size(), batches.samples());
+    assertTrue(batches.loss() >= 0 && batches.accuracy() > .5, batches.toString());
+
+    reports.clear();
+    floats.train(set, 3, .3f, 7, 0, null, whole);
+    assertEquals(1, reports.size());
+    assertEquals(3L * set.size(), reports.get(0).samples());
+    assertTrue(reports.get(0).accuracy() > .5, reports.get(0).toString());
+    assertThrows(IllegalArgumentException.class, () -> new TrainingMetrics(0));
+  }
+
+  /**
+   * Test for {@link CsvSink}.
+   **/
+  @Test
+  /*default*/ void testCsv() throws IOException {
+
+    var dir = Files.createTempDirectory("metrics");
+    dir.toFile().deleteOnExit();
+    var path = dir.resolve("metrics.csv");
+    path.toFile().deleteOnExit();
+    var net = NeuralNet.builder(PIXELS).layer(16).layer(CLASSES).random(rand).build();
+    try (var metrics = new TrainingMetrics(1, new CsvSink(path))) {
+      net.train(digits.dataset(500), 2, .3, 1, 7, 0, null, metrics);
+    }
+
+    var lines = Files.readAllLines(path);
+    assertTrue(lines.size() > 1);
+    String[] header = lines.get(0).split(",");
+    assertEquals("samples", header[0]);
+    assertEquals("update_nanos_1", header[header.length - 1]);
+    for (String line : lines.subList(1, lines.size())) {
+      assertEquals(header.length, line.split(",").length, line);
+    }
+    assertTrue(lines.get(lines.size() - 1).startsWith("1000,1000,"));
+  }
+
+  /**
+   * Test for {@link JmxSink}.
+   **/
+  @Test
+  /*default*/ void testJmx() throws JMException {
+
+    var server = ManagementFactory.getPlatformMBeanServer();
+    var name = new ObjectName("neural.network:type=Training,name=test");
+    var net = NeuralNet.builder(PIXELS).layer(16).layer(CLASSES).random(rand).build();
+    try (var metrics = new TrainingMetrics(1000, new JmxSink(name.toString()))) {
+      assertTrue(server.isRegistered(name));
+      assertThrows(IllegalArgumentException.class, () -> new JmxSink(name.toString()));
+      net.train(digits.dataset(500), 1, .3, 1, 7, 0, null, metrics);
+      assertEquals(500L, server.getAttribute(name, "Samples"));
+      assertEquals(2, ((long[]) server.getAttribute(name, "ForwardNanos")).length);
+    }
+    assertFalse(server.isRegistered(name));
+  }
+
+}